@@ -0,0 +1,69 @@
+#!/usr/bin/env python3
+"""
+Closed-loop load generator for a backend endpoint; reports throughput and latency percentiles.
+
+Usage (with the backend running against scripts/riot_stand_in.py):
+  python3 scripts/load_test.py --path "/api/matches?gameName=Tekindar666&tagLine=8848&count=20" \
+      --requests 500 --concurrency 16
+"""
+import argparse
+import time
+import urllib.error
+import urllib.request
+from collections import Counter
+from concurrent.futures import ThreadPoolExecutor
+from typing import List, Tuple
+
+
+def call(url: str, timeout: float) -> Tuple[int, float]:
+    start = time.perf_counter()
+    try:
+        with urllib.request.urlopen(url, timeout=timeout) as response:
+            response.read()
+            status = response.status
+    except urllib.error.HTTPError as e:
+        status = e.code
+    except Exception:
+        status = 0
+    return status, (time.perf_counter() - start) * 1000.0
+
+
+def percentile(sorted_values: List[float], p: float) -> float:
+    if not sorted_values:
+        return 0.0
+    index = min(len(sorted_values) - 1, max(0, int(round(p / 100.0 * len(sorted_values) + 0.5)) - 1))
+    return sorted_values[index]
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Measure throughput and tail latency of a backend endpoint")
+    parser.add_argument("--base-url", default="http://localhost:8080")
+    parser.add_argument("--path", default="/api/matches?gameName=Tekindar666&tagLine=8848&count=20")
+    parser.add_argument("--requests", type=int, default=200)
+    parser.add_argument("--concurrency", type=int, default=8)
+    parser.add_argument("--warmup", type=int, default=10, help="Requests sent before measuring")
+    parser.add_argument("--timeout", type=float, default=60.0)
+    args = parser.parse_args()
+
+    url = args.base_url.rstrip("/") + args.path
+    for _ in range(args.warmup):
+        call(url, args.timeout)
+
+    start = time.perf_counter()
+    with ThreadPoolExecutor(max_workers=args.concurrency) as pool:
+        results = list(pool.map(lambda _: call(url, args.timeout), range(args.requests)))
+    elapsed = time.perf_counter() - start
+
+    statuses = Counter(status for status, _ in results)
+    latencies = sorted(latency for _, latency in results)
+
+    print(f"{url}")
+    print(f"{args.requests} requests, concurrency {args.concurrency}, {elapsed:.2f}s")
+    print(f"throughput: {args.requests / elapsed:.1f} req/s")
+    print("status:     " + ", ".join(f"{status or 'error'}={n}" for status, n in sorted(statuses.items())))
+    print("latency ms: " + "  ".join(
+        f"p{p}={percentile(latencies, p):.1f}" for p in (50, 90, 95, 99)) + f"  max={latencies[-1]:.1f}")
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,41 @@
+#!/bin/bash
+
+# Record match-v5 payloads and their timelines from the live Riot API into the test fixtures,
+# for the unit tests and the JMH benchmarks (mvn -Pjmh test-compile exec:exec).
+#
+# Usage: ./scripts/record-fixtures.sh MATCH_ID [MATCH_ID ...]
+
+set -e
+
+cd "$(dirname "$0")/.."
+
+if [ -f .env ]; then
+    export $(grep -v '^#' .env | xargs)
+fi
+
+if [ -z "$RIOT_API_KEY" ]; then
+    echo "RIOT_API_KEY is not set (add it to .env or export it)"
+    exit 1
+fi
+
+if [ $# -eq 0 ]; then
+    echo "Usage: $0 MATCH_ID [MATCH_ID ...]"
+    exit 1
+fi
+
+FIXTURE_DIR=src/test/resources/fixtures/match-v5
+TIMELINE_DIR=src/test/resources/fixtures/match-v5-timeline
+mkdir -p "$FIXTURE_DIR" "$TIMELINE_DIR"
+
+for MATCH_ID in "$@"; do
+    echo "Recording $MATCH_ID..."
+    curl -sf -H "X-Riot-Token: $RIOT_API_KEY" \
+        "https://americas.api.riotgames.com/lol/match/v5/matches/$MATCH_ID" \
+        -o "$FIXTURE_DIR/$MATCH_ID.json"
+    curl -sf -H "X-Riot-Token: $RIOT_API_KEY" \
+        "https://americas.api.riotgames.com/lol/match/v5/matches/$MATCH_ID/timeline" \
+        -o "$TIMELINE_DIR/$MATCH_ID.json"
+done
+
+echo ""
+echo "Done! Point Fixtures.MATCH_ID at a recorded match to benchmark it."
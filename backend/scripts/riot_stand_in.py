@@ -0,0 +1,494 @@
+#!/usr/bin/env python3
+"""
+Local stand-in for the Riot API endpoints the backend calls, for offline load testing.
+
+Serves recorded fixtures from src/test/resources/fixtures/match-v5 with configurable latency,
+jitter, injected 429s and Riot-style rate-limit headers, so the backend's rate limiter, retry
+policy and fan-out can be exercised without touching real rate limits.
+
+Endpoints:
+  GET /riot/account/v1/accounts/by-riot-id/{gameName}/{tagLine}
+  GET /lol/match/v5/matches/by-puuid/{puuid}/ids?start=&count=&startTime=
+  GET /lol/match/v5/matches/{matchId}
+  GET /lol/match/v5/matches/{matchId}/timeline
+  GET /lol/summoner/v4/summoners/by-puuid/{puuid}
+
+Test hook (not a Riot endpoint):
+  POST /stand-in/new-match/{puuid}   adds a match played "now" by that player, to exercise
+                                     incremental history syncs
+
+Usage:
+  python3 scripts/riot_stand_in.py --port 8081 --latency-ms 60 --jitter-ms 40 --throttle-rate 0.01
+  ./mvnw spring-boot:run -Dspring-boot.run.profiles=standin
+
+Accounts are resolved from the participants of the fixtures (riotIdGameName/riotIdTagline);
+--synthetic-matches clones the fixtures under new match IDs so match lists have real depth.
+Timelines come from fixtures/match-v5-timeline/{matchId}.json when recorded; otherwise one is
+synthesized from the match (kills, objectives, item purchases and per-minute frames consistent
+with the end-of-game stats, plus the ward/skill events and frame stats a real timeline carries).
+"""
+import argparse
+import gzip
+import json
+import math
+import random
+import re
+import sys
+import threading
+import time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+from pathlib import Path
+from typing import Dict, List, Optional, Tuple
+from urllib.parse import parse_qs, unquote, urlparse
+
+
+class Bucket:
+    """One Riot rate limit (count per window), with a fixed window started by the first call."""
+
+    def __init__(self, limit: int, window_seconds: int):
+        self.limit = limit
+        self.window_seconds = window_seconds
+        self.window_start = 0.0
+        self.count = 0
+
+    def roll(self, now: float):
+        if now - self.window_start >= self.window_seconds:
+            self.window_start = now
+            self.count = 0
+
+    def retry_after(self, now: float) -> int:
+        return max(1, math.ceil(self.window_start + self.window_seconds - now))
+
+
+class RateLimits:
+    """Application-wide and per-method buckets, reported the way Riot's headers do."""
+
+    def __init__(self, app_spec: str, method_spec: str):
+        self.app_spec = app_spec
+        self.method_spec = method_spec
+        self.app = parse_limits(app_spec)
+        self.methods: Dict[str, List[Bucket]] = {}
+        self.lock = threading.Lock()
+
+    def acquire(self, method: str) -> Tuple[bool, Dict[str, str]]:
+        with self.lock:
+            now = time.monotonic()
+            method_buckets = self.methods.setdefault(method, parse_limits(self.method_spec))
+            for bucket in self.app + method_buckets:
+                bucket.roll(now)
+
+            headers = {}
+            exceeded = None
+            for limit_type, buckets in (("application", self.app), ("method", method_buckets)):
+                for bucket in buckets:
+                    if bucket.count >= bucket.limit:
+                        exceeded = (limit_type, bucket)
+                        break
+                if exceeded:
+                    break
+
+            if exceeded is None:
+                for bucket in self.app + method_buckets:
+                    bucket.count += 1
+            else:
+                headers["Retry-After"] = str(exceeded[1].retry_after(now))
+                headers["X-Rate-Limit-Type"] = exceeded[0]
+
+            headers["X-App-Rate-Limit"] = self.app_spec
+            headers["X-App-Rate-Limit-Count"] = format_counts(self.app)
+            headers["X-Method-Rate-Limit"] = self.method_spec
+            headers["X-Method-Rate-Limit-Count"] = format_counts(method_buckets)
+            return exceeded is None, headers
+
+
+def parse_limits(spec: str) -> List[Bucket]:
+    buckets = []
+    for part in spec.split(","):
+        count, window = part.strip().split(":")
+        buckets.append(Bucket(int(count), int(window)))
+    return buckets
+
+
+def format_counts(buckets: List[Bucket]) -> str:
+    return ",".join(f"{b.count}:{b.window_seconds}" for b in buckets)
+
+
+class FixtureIndex:
+    """Match payloads by ID, match IDs by PUUID (newest first) and accounts by Riot ID."""
+
+    def __init__(self, fixture_dir: Path, synthetic_matches: int):
+        self.matches: Dict[str, bytes] = {}
+        self.gzipped: Dict[str, bytes] = {}
+        self.matches_by_puuid: Dict[str, List[Tuple[int, str]]] = {}
+        self.accounts: Dict[Tuple[str, str], dict] = {}
+        self.timeline_dir = fixture_dir / "match-v5-timeline"
+        self.timelines: Dict[str, Tuple[bytes, bytes]] = {}
+
+        files = sorted((fixture_dir / "match-v5").glob("*.json"))
+        if not files:
+            sys.exit(f"No match-v5 fixtures found under {fixture_dir}")
+
+        for file in files:
+            match = json.loads(file.read_bytes())
+            self.add(match)
+            for i in range(synthetic_matches):
+                self.add(clone(match, i + 1))
+
+        for entries in self.matches_by_puuid.values():
+            entries.sort(reverse=True)
+        self.played = 0
+        self.lock = threading.Lock()
+
+    def new_match(self, puuid: str) -> Optional[str]:
+        """Clone the player's newest match as a game created now; returns the new match ID."""
+        with self.lock:
+            entries = self.matches_by_puuid.get(puuid)
+            if not entries:
+                return None
+            self.played += 1
+            match = json.loads(self.matches[entries[0][1]])
+            prefix, number = match["metadata"]["matchId"].rsplit("_", 1)
+            match["metadata"]["matchId"] = f"{prefix}_{int(number) + 900_000 + self.played}"
+            match["info"]["gameCreation"] = int(time.time() * 1000)
+            self.add(match)
+            for entries in self.matches_by_puuid.values():
+                entries.sort(reverse=True)
+            return match["metadata"]["matchId"]
+
+    def timeline(self, match_id: str) -> Optional[Tuple[bytes, bytes]]:
+        """(payload, gzipped payload) of a match's timeline, built on first request."""
+        with self.lock:
+            if match_id in self.timelines:
+                return self.timelines[match_id]
+        if match_id not in self.matches:
+            return None
+        recorded = self.timeline_dir / f"{match_id}.json"
+        if recorded.exists():
+            payload = recorded.read_bytes()
+        else:
+            timeline = synthesize_timeline(json.loads(self.matches[match_id]))
+            payload = json.dumps(timeline, separators=(",", ":")).encode("utf-8")
+        entry = (payload, gzip.compress(payload, compresslevel=6))
+        with self.lock:
+            self.timelines[match_id] = entry
+        return entry
+
+    def add(self, match: dict):
+        match_id = match["metadata"]["matchId"]
+        payload = json.dumps(match, separators=(",", ":")).encode("utf-8")
+        self.matches[match_id] = payload
+        self.gzipped[match_id] = gzip.compress(payload, compresslevel=6)
+        created = match["info"].get("gameCreation", 0)
+        for p in match["info"]["participants"]:
+            self.matches_by_puuid.setdefault(p["puuid"], []).append((created, match_id))
+            if p.get("riotIdGameName"):
+                key = (p["riotIdGameName"].lower(), p.get("riotIdTagline", "").lower())
+                self.accounts[key] = {
+                    "puuid": p["puuid"],
+                    "gameName": p["riotIdGameName"],
+                    "tagLine": p.get("riotIdTagline", ""),
+                }
+
+
+def clone(match: dict, n: int) -> dict:
+    """Copy a match under a new ID, one day earlier per copy."""
+    copy = json.loads(json.dumps(match))
+    match_id = copy["metadata"]["matchId"]
+    prefix, number = match_id.rsplit("_", 1)
+    copy["metadata"]["matchId"] = f"{prefix}_{int(number) + n * 1000}"
+    copy["info"]["gameCreation"] = copy["info"].get("gameCreation", 0) - n * 86_400_000
+    return copy
+
+
+DRAGONS = ["AIR_DRAGON", "EARTH_DRAGON", "FIRE_DRAGON", "WATER_DRAGON", "HEXTECH_DRAGON", "CHEMTECH_DRAGON"]
+LANES = ["TOP_LANE", "MID_LANE", "BOT_LANE"]
+
+
+def synthesize_timeline(match: dict) -> dict:
+    """A plausible match-v5 timeline for a match, deterministic per match ID."""
+    rng = random.Random(match["metadata"]["matchId"])
+    info = match["info"]
+    participants = info["participants"]
+    duration_ms = info["gameDuration"] * 1000
+    ids = list(range(1, len(participants) + 1))
+    team_of = {i: (100 if i <= len(participants) // 2 else 200) for i in ids}
+    events: List[dict] = []
+
+    def at(start: float = 0.03, end: float = 1.0) -> int:
+        return int(rng.uniform(start, end) * duration_ms)
+
+    def pos() -> dict:
+        return {"x": rng.randint(500, 14500), "y": rng.randint(500, 14500)}
+
+    def damage(pid: int) -> List[dict]:
+        return [{"basic": rng.random() < 0.3, "magicDamage": rng.randint(0, 900), "name": participants[pid - 1]["championName"],
+                 "participantId": pid, "physicalDamage": rng.randint(0, 900), "spellName": "spell", "spellSlot": rng.randint(0, 3),
+                 "trueDamage": rng.randint(0, 100), "type": "OTHER"} for _ in range(rng.randint(2, 6))]
+
+    # Kills: each participant's kills against enemies that still have deaths to hand out
+    deaths_left = {i: participants[i - 1]["deaths"] for i in ids}
+    kills = []
+    for killer in ids:
+        for _ in range(participants[killer - 1]["kills"]):
+            enemies = [v for v in ids if team_of[v] != team_of[killer]]
+            weighted = [v for v in enemies if deaths_left[v] > 0] or enemies
+            victim = rng.choice(weighted)
+            deaths_left[victim] = max(0, deaths_left[victim] - 1)
+            kills.append((at(0.05), killer, victim))
+    kills.sort()
+    for n, (timestamp, killer, victim) in enumerate(kills):
+        allies = [a for a in ids if team_of[a] == team_of[killer] and a != killer]
+        events.append({"assistingParticipantIds": rng.sample(allies, rng.randint(0, min(3, len(allies)))),
+                       "bounty": 300, "killStreakLength": 0, "killerId": killer, "position": pos(),
+                       "shutdownBounty": 0, "timestamp": timestamp, "type": "CHAMPION_KILL",
+                       "victimDamageDealt": damage(victim), "victimDamageReceived": damage(killer), "victimId": victim})
+        if n == 0:
+            events.append({"killType": "KILL_FIRST_BLOOD", "killerId": killer, "position": pos(),
+                           "timestamp": timestamp, "type": "CHAMPION_SPECIAL_KILL"})
+    for p in participants:
+        pid = participants.index(p) + 1
+        for length, count in ((2, p.get("doubleKills", 0)), (3, p.get("tripleKills", 0)),
+                              (4, p.get("quadraKills", 0)), (5, p.get("pentaKills", 0))):
+            for _ in range(count):
+                events.append({"killType": "KILL_MULTI", "killerId": pid, "multiKillLength": length,
+                               "position": pos(), "timestamp": at(0.3), "type": "CHAMPION_SPECIAL_KILL"})
+
+    # Objectives from each team's totals
+    for team_index, team in enumerate(info.get("teams", [])):
+        team_id = team.get("teamId", 100 + 100 * team_index)
+        enemy_id = 300 - team_id
+        members = [i for i in ids if team_of[i] == team_id]
+        objectives = team.get("objectives", {})
+        monsters = [("DRAGON", None, 0.1)] * objectives.get("dragon", {}).get("kills", 0)
+        monsters += [("BARON_NASHOR", None, 0.6)] * objectives.get("baron", {}).get("kills", 0)
+        monsters += [("RIFTHERALD", None, 0.25)] * objectives.get("riftHerald", {}).get("kills", 0)
+        monsters += [("HORDE", None, 0.15)] * objectives.get("horde", {}).get("kills", 0)
+        monsters += [("ATAKHAN", None, 0.5)] * objectives.get("atakhan", {}).get("kills", 0)
+        for monster_type, _, start in monsters:
+            event = {"bounty": 0, "killerId": rng.choice(members), "killerTeamId": team_id, "monsterType": monster_type,
+                     "position": pos(), "timestamp": at(start), "type": "ELITE_MONSTER_KILL"}
+            if monster_type == "DRAGON":
+                event["monsterSubType"] = rng.choice(DRAGONS)
+            events.append(event)
+        for building, key in (("TOWER_BUILDING", "tower"), ("INHIBITOR_BUILDING", "inhibitor")):
+            for _ in range(objectives.get(key, {}).get("kills", 0)):
+                event = {"assistingParticipantIds": [], "bounty": 0, "buildingType": building,
+                         "killerId": rng.choice(members + [0]), "laneType": rng.choice(LANES), "position": pos(),
+                         "teamId": enemy_id, "timestamp": at(0.2), "type": "BUILDING_KILL"}
+                if building == "TOWER_BUILDING":
+                    event["towerType"] = rng.choice(["OUTER_TURRET", "INNER_TURRET", "BASE_TURRET"])
+                events.append(event)
+
+    # Purchases: starters at 0:30, final items spread over the game; wards, skills and levels as noise
+    for pid in ids:
+        p = participants[pid - 1]
+        for item in (1055, 2003, 3340):
+            events.append({"itemId": item, "participantId": pid, "timestamp": rng.randint(15000, 40000), "type": "ITEM_PURCHASED"})
+        for slot in range(7):
+            item = p.get(f"item{slot}", 0)
+            if item:
+                events.append({"itemId": item, "participantId": pid, "timestamp": at(0.15), "type": "ITEM_PURCHASED"})
+        for _ in range(p.get("wardsPlaced", 0)):
+            events.append({"creatorId": pid, "timestamp": at(0.02), "type": "WARD_PLACED", "wardType": "YELLOW_TRINKET"})
+        for level in range(2, p.get("champLevel", 18) + 1):
+            timestamp = int(duration_ms * (level - 1) / 19)
+            events.append({"level": level, "participantId": pid, "timestamp": timestamp, "type": "LEVEL_UP"})
+            events.append({"levelUpType": "NORMAL", "participantId": pid, "skillSlot": rng.randint(1, 4),
+                           "timestamp": timestamp + 1, "type": "SKILL_LEVEL_UP"})
+    events.sort(key=lambda e: e["timestamp"])
+
+    # Frames: events of the preceding minute, and each participant's running totals
+    frame_count = duration_ms // 60000 + 2
+    frames = []
+    previous = -1
+    for f in range(frame_count):
+        timestamp = min(f * 60000 + (rng.randint(0, 40) if f else 0), duration_ms)
+        frame_events = [e for e in events if previous < e["timestamp"] <= timestamp]
+        previous = timestamp
+        if f == 0:
+            frame_events.insert(0, {"realTimestamp": info.get("gameStartTimestamp", 0), "timestamp": 0, "type": "PAUSE_END"})
+        if f == frame_count - 1:
+            frame_events.append({"gameId": info.get("gameId", 0), "realTimestamp": info.get("gameEndTimestamp", 0),
+                                 "timestamp": duration_ms, "type": "GAME_END", "winningTeam": 100 if participants[0]["win"] else 200})
+        share = timestamp / duration_ms if duration_ms else 1
+        participant_frames = {}
+        for pid in ids:
+            p = participants[pid - 1]
+            gold = int(500 + (p["goldEarned"] - 500) * share)
+            participant_frames[str(pid)] = {
+                "championStats": {name: rng.randint(0, 300) for name in (
+                    "abilityHaste", "abilityPower", "armor", "armorPen", "armorPenPercent", "attackDamage", "attackSpeed",
+                    "bonusArmorPenPercent", "bonusMagicPenPercent", "ccReduction", "cooldownReduction", "health", "healthMax",
+                    "healthRegen", "lifesteal", "magicPen", "magicPenPercent", "magicResist", "movementSpeed", "omnivamp",
+                    "physicalVamp", "power", "powerMax", "powerRegen", "spellVamp")},
+                "currentGold": rng.randint(0, 1500),
+                "damageStats": {name: int(rng.random() * 20000 * share) for name in (
+                    "magicDamageDone", "magicDamageDoneToChampions", "magicDamageTaken", "physicalDamageDone",
+                    "physicalDamageDoneToChampions", "physicalDamageTaken", "totalDamageDone", "totalDamageDoneToChampions",
+                    "totalDamageTaken", "trueDamageDone", "trueDamageDoneToChampions", "trueDamageTaken")},
+                "goldPerSecond": 0 if f == 0 else 2,
+                "jungleMinionsKilled": int(p.get("neutralMinionsKilled", 0) * share),
+                "level": min(18, 1 + int(17 * share)),
+                "minionsKilled": int(p.get("totalMinionsKilled", 0) * share),
+                "participantId": pid,
+                "position": pos(),
+                "timeEnemySpentControlled": int(rng.random() * 30000 * share),
+                "totalGold": gold,
+                "xp": int(p.get("champExperience", 15000) * share),
+            }
+        frames.append({"events": frame_events, "participantFrames": participant_frames, "timestamp": timestamp})
+
+    return {
+        "metadata": {"dataVersion": "2", "matchId": match["metadata"]["matchId"],
+                     "participants": [p["puuid"] for p in participants]},
+        "info": {"endOfGameResult": "GameComplete", "frameInterval": 60000, "frames": frames,
+                 "gameId": info.get("gameId", 0),
+                 "participants": [{"participantId": pid, "puuid": participants[pid - 1]["puuid"]} for pid in ids]},
+    }
+
+
+ROUTES = [
+    ("account-v1.getByRiotId", re.compile(r"^/riot/account/v1/accounts/by-riot-id/([^/]+)/([^/]+)$")),
+    ("match-v5.getMatchIdsByPUUID", re.compile(r"^/lol/match/v5/matches/by-puuid/([^/]+)/ids$")),
+    ("match-v5.getMatch", re.compile(r"^/lol/match/v5/matches/([^/]+)$")),
+    ("match-v5.getTimeline", re.compile(r"^/lol/match/v5/matches/([^/]+)/timeline$")),
+    ("summoner-v4.getByPUUID", re.compile(r"^/lol/summoner/v4/summoners/by-puuid/([^/]+)$")),
+]
+
+
+class StandInHandler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+    server_version = "RiotStandIn/1.0"
+
+    # Set by main()
+    fixtures: FixtureIndex = None
+    limits: RateLimits = None
+    options: argparse.Namespace = None
+
+    def do_GET(self):
+        url = urlparse(self.path)
+        for method, pattern in ROUTES:
+            match = pattern.match(url.path)
+            if match:
+                self.handle_route(method, [unquote(g) for g in match.groups()], parse_qs(url.query))
+                return
+        self.send_json(404, {"status": {"message": "Not found", "status_code": 404}})
+
+    def do_POST(self):
+        match = re.match(r"^/stand-in/new-match/([^/]+)$", urlparse(self.path).path)
+        match_id = self.fixtures.new_match(unquote(match.group(1))) if match else None
+        if match_id is None:
+            self.send_json(404, {"status": {"message": "Unknown player", "status_code": 404}})
+        else:
+            self.send_json(200, {"matchId": match_id})
+
+    def handle_route(self, method: str, args: List[str], query: Dict[str, List[str]]):
+        opts = self.options
+        delay = opts.latency_ms + random.uniform(0, opts.jitter_ms)
+        if opts.tail_rate > 0 and random.random() < opts.tail_rate:
+            delay += opts.tail_ms
+        time.sleep(delay / 1000.0)
+
+        if opts.throttle_rate > 0 and random.random() < opts.throttle_rate:
+            # Riot's underlying-service 429s come without Retry-After
+            self.send_json(429, {"status": {"message": "Rate limit exceeded", "status_code": 429}},
+                           {"X-Rate-Limit-Type": "service"})
+            return
+
+        allowed, headers = self.limits.acquire(method)
+        if not allowed:
+            self.send_json(429, {"status": {"message": "Rate limit exceeded", "status_code": 429}}, headers)
+            return
+
+        if method == "account-v1.getByRiotId":
+            account = self.fixtures.accounts.get((args[0].lower(), args[1].lower()))
+            if account is None:
+                self.send_json(404, {"status": {"message": "Data not found", "status_code": 404}}, headers)
+            else:
+                self.send_json(200, account, headers)
+        elif method == "match-v5.getMatchIdsByPUUID":
+            start = int(query.get("start", ["0"])[0])
+            count = int(query.get("count", ["20"])[0])
+            entries = self.fixtures.matches_by_puuid.get(args[0], [])
+            if "startTime" in query:
+                # Epoch seconds, inclusive, like match-v5
+                start_time = int(query["startTime"][0]) * 1000
+                entries = [e for e in entries if e[0] >= start_time]
+            self.send_json(200, [match_id for _, match_id in entries[start:start + count]], headers)
+        elif method == "match-v5.getMatch":
+            if args[0] not in self.fixtures.matches:
+                self.send_json(404, {"status": {"message": "Data not found", "status_code": 404}}, headers)
+            elif "gzip" in self.headers.get("Accept-Encoding", ""):
+                self.send_body(200, self.fixtures.gzipped[args[0]], dict(headers, **{"Content-Encoding": "gzip"}))
+            else:
+                self.send_body(200, self.fixtures.matches[args[0]], headers)
+        elif method == "match-v5.getTimeline":
+            timeline = self.fixtures.timeline(args[0])
+            if timeline is None:
+                self.send_json(404, {"status": {"message": "Data not found", "status_code": 404}}, headers)
+            elif "gzip" in self.headers.get("Accept-Encoding", ""):
+                self.send_body(200, timeline[1], dict(headers, **{"Content-Encoding": "gzip"}))
+            else:
+                self.send_body(200, timeline[0], headers)
+        elif method == "summoner-v4.getByPUUID":
+            puuid = args[0]
+            self.send_json(200, {
+                "id": puuid[:48],
+                "accountId": puuid[:56],
+                "puuid": puuid,
+                "profileIconId": 29,
+                "revisionDate": int(time.time() * 1000),
+                "summonerLevel": 100,
+            }, headers)
+
+    def send_json(self, status: int, body, headers: Optional[Dict[str, str]] = None):
+        self.send_body(status, json.dumps(body).encode("utf-8"), headers)
+
+    def send_body(self, status: int, body: bytes, headers: Optional[Dict[str, str]] = None):
+        self.send_response(status)
+        self.send_header("Content-Type", "application/json;charset=utf-8")
+        self.send_header("Content-Length", str(len(body)))
+        for name, value in (headers or {}).items():
+            self.send_header(name, value)
+        self.end_headers()
+        self.wfile.write(body)
+
+    def log_message(self, format, *args):
+        if self.options.verbose:
+            super().log_message(format, *args)
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Local Riot API stand-in serving recorded fixtures")
+    parser.add_argument("--port", type=int, default=8081)
+    parser.add_argument("--fixtures", default=str(Path(__file__).resolve().parent.parent / "src/test/resources/fixtures"),
+                        help="Directory containing match-v5/*.json")
+    parser.add_argument("--synthetic-matches", type=int, default=19,
+                        help="Extra copies of each fixture under new match IDs")
+    parser.add_argument("--latency-ms", type=float, default=50, help="Base response latency")
+    parser.add_argument("--jitter-ms", type=float, default=30, help="Uniform random latency added on top")
+    parser.add_argument("--tail-rate", type=float, default=0.0, help="Fraction of calls that get --tail-ms extra")
+    parser.add_argument("--tail-ms", type=float, default=1000)
+    parser.add_argument("--throttle-rate", type=float, default=0.0,
+                        help="Fraction of calls answered with a service 429 regardless of limits")
+    parser.add_argument("--app-limits", default="20:1,100:120", help="Application rate limits, count:seconds,...")
+    parser.add_argument("--method-limits", default="2000:10", help="Per-method rate limits, count:seconds,...")
+    parser.add_argument("--verbose", action="store_true", help="Log every request")
+    options = parser.parse_args()
+
+    StandInHandler.fixtures = FixtureIndex(Path(options.fixtures), options.synthetic_matches)
+    StandInHandler.limits = RateLimits(options.app_limits, options.method_limits)
+    StandInHandler.options = options
+
+    server = ThreadingHTTPServer(("127.0.0.1", options.port), StandInHandler)
+    server.daemon_threads = True
+    print(f"Riot stand-in on http://127.0.0.1:{options.port} with {len(StandInHandler.fixtures.matches)} matches, "
+          f"{len(StandInHandler.fixtures.accounts)} accounts", flush=True)
+    try:
+        server.serve_forever()
+    except KeyboardInterrupt:
+        pass
+
+
+if __name__ == "__main__":
+    main()
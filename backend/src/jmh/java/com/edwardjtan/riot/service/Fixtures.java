@@ -0,0 +1,42 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.MatchData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Recorded upstream payloads from src/test/resources/fixtures, shared by the benchmarks.
+ */
+final class Fixtures {
+
+  static final String MATCH_ID = "NA1_5000000001";
+
+  private Fixtures() {
+  }
+
+  static byte[] matchPayload() {
+    return load("/fixtures/match-v5/" + MATCH_ID + ".json");
+  }
+
+  static MatchData match() {
+    try {
+      return new ObjectMapper().readValue(matchPayload(), MatchData.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static byte[] load(String resource) {
+    try (InputStream in = Fixtures.class.getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing fixture " + resource);
+      }
+      return in.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
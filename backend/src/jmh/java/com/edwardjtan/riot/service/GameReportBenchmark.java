@@ -0,0 +1,64 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.GameAnalysis;
+import com.edwardjtan.riot.model.MatchData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU side of report generation: match analysis and the two prompt builders
+ * (single-provider report and multi-provider comparison). No upstream calls are made.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameReportBenchmark {
+
+  // Outside Spring riot.timeline.enabled is not bound and stays false, so analysis uses the
+  // end-of-game summary events without a Riot client, and never asks MatchService for an opponent
+  private final GameAnalysisService gameAnalysisService = new GameAnalysisService(
+    new TimelineService(null, 1 << 20, new SimpleMeterRegistry()),
+    new MatchService(null, null, null, null, new BenchmarkDistributions(200, Duration.ofSeconds(1)), new SimpleMeterRegistry()));
+  private final ClaudeService claudeService = new ClaudeService(null, null, null);
+  private final GameReportComparisonService comparisonService = new GameReportComparisonService(null, null, null, null);
+  private MatchData match;
+  private String puuid;
+  private GameAnalysis analysis;
+
+  @Setup
+  public void setUp() {
+    match = Fixtures.match();
+    puuid = match.getInfo().getParticipants().get(2).getPuuid();
+    analysis = gameAnalysisService.analyzeMatch(match, puuid);
+  }
+
+  @Benchmark
+  public GameAnalysis analyzeMatch() {
+    return gameAnalysisService.analyzeMatch(match, puuid);
+  }
+
+  @Benchmark
+  public String reportPrompt() {
+    return claudeService.buildPrompt(analysis);
+  }
+
+  @Benchmark
+  public String comparisonPrompt() {
+    return comparisonService.buildGameAnalysisPrompt(analysis);
+  }
+}
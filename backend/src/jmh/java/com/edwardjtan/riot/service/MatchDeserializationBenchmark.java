@@ -0,0 +1,56 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.MatchData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ways a whole MatchData is materialized: Jackson binding of the raw match-v5 JSON
+ * (network and match store path) and the MatchDataCodec round trip (match cache path).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchDeserializationBenchmark {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private byte[] payload;
+  private MatchData match;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws Exception {
+    payload = Fixtures.matchPayload();
+    match = objectMapper.readValue(payload, MatchData.class);
+    encoded = MatchDataCodec.encode(match);
+  }
+
+  @Benchmark
+  public MatchData jacksonBinding() throws Exception {
+    return objectMapper.readValue(payload, MatchData.class);
+  }
+
+  @Benchmark
+  public MatchData codecDecode() {
+    return MatchDataCodec.decode(encoded);
+  }
+
+  @Benchmark
+  public byte[] codecEncode() {
+    return MatchDataCodec.encode(match);
+  }
+}
@@ -0,0 +1,76 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.MatchData;
+import com.edwardjtan.riot.model.ParticipantSlice;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full MatchData data binding versus the streaming MatchV5Reader for the
+ * "one player and their lane opponent" lookups done by the radar and match-list paths.
+ * Run with -prof gc to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchParsingBenchmark {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final MatchV5Reader reader = new MatchV5Reader(objectMapper);
+  private byte[] payload;
+  private String puuid;
+
+  @Setup
+  public void setUp() throws Exception {
+    payload = Fixtures.matchPayload();
+    puuid = objectMapper.readValue(payload, MatchData.class).getInfo().getParticipants().get(2).getPuuid();
+  }
+
+  @Benchmark
+  public MatchData.ParticipantDto[] fullBindingPlayerAndOpponent() throws Exception {
+    List<MatchData.ParticipantDto> participants = objectMapper.readValue(payload, MatchData.class)
+      .getInfo().getParticipants();
+    MatchData.ParticipantDto player = null;
+    int playerIndex = -1;
+    for (int i = 0; i < participants.size(); i++) {
+      if (participants.get(i).getPuuid().equals(puuid)) {
+        player = participants.get(i);
+        playerIndex = i;
+        break;
+      }
+    }
+    MatchData.ParticipantDto opponent = null;
+    for (int i = playerIndex < 5 ? 5 : 0; i < participants.size(); i++) {
+      if (participants.get(i).getTeamPosition().equals(player.getTeamPosition())) {
+        opponent = participants.get(i);
+        break;
+      }
+    }
+    return new MatchData.ParticipantDto[] { player, opponent };
+  }
+
+  @Benchmark
+  public ParticipantSlice streamingPlayerAndOpponent() throws Exception {
+    return reader.read(payload, puuid, true);
+  }
+
+  @Benchmark
+  public ParticipantSlice streamingPlayerOnly() throws Exception {
+    return reader.read(payload, puuid, false);
+  }
+}
@@ -0,0 +1,150 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.MatchData;
+import com.edwardjtan.riot.model.MatchDetails;
+import com.edwardjtan.riot.model.PerformanceBenchmarks;
+import com.edwardjtan.riot.model.RadarChartStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-match stat conversions in MatchService, on an already bound match: the ten
+ * convertToPlayerStats calls behind /api/matches/{id}, and the radar chart's lane opponent
+ * selection plus benchmark scoring, against the stream-and-bean version it replaced.
+ * Run with -prof gc to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchStatsBenchmark {
+
+  // The conversions never touch the Riot client, cache or store. The benchmark distributions stay
+  // empty, so radar scoring takes the static benchmark tables as it does before min-samples
+  private final MatchService matchService = new MatchService(null, null, null, null,
+    new BenchmarkDistributions(200, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+  private MatchData match;
+  private List<MatchData.ParticipantDto> participants;
+  private String puuid;
+
+  @Setup
+  public void setUp() {
+    match = Fixtures.match();
+    participants = match.getInfo().getParticipants();
+    puuid = participants.get(2).getPuuid();
+  }
+
+  @TearDown
+  public void tearDown() {
+    matchService.shutdownFanOut();
+  }
+
+  @Benchmark
+  public void playerStatsAllParticipants(Blackhole blackhole) {
+    for (MatchData.ParticipantDto participant : participants) {
+      MatchDetails.PlayerStats stats = matchService.convertToPlayerStats(participant);
+      blackhole.consume(stats);
+    }
+  }
+
+  @Benchmark
+  public RadarChartStats radarStats() {
+    return matchService.scoreRadarStats(matchService.selectParticipants(match, puuid, true));
+  }
+
+  /**
+   * The previous radar path: stream pipelines over the participants with a linear PUUID search
+   * per candidate for its team, then two beans filled with per-minute rates and rewritten in
+   * place by the normalizer.
+   */
+  @Benchmark
+  public RadarChartStats radarStatsStreamsAndBeans() {
+    MatchData.ParticipantDto player = participants.stream()
+      .filter(p -> p.getPuuid().equals(puuid))
+      .findFirst()
+      .orElseThrow();
+    String playerPosition = MatchService.getBestPosition(player);
+    int playerTeam = teamId(puuid);
+    MatchData.ParticipantDto opponent = participants.stream()
+      .filter(p -> !p.getPuuid().equals(puuid))
+      .filter(p -> teamId(p.getPuuid()) != playerTeam)
+      .filter(p -> MatchService.getBestPosition(p).equals(playerPosition))
+      .findFirst()
+      .orElse(null);
+
+    double minutes = match.getInfo().getGameDuration() / 60.0;
+    RadarChartStats.PlayerRadarStats playerStats = beanRadarStats(player, minutes, playerPosition);
+    RadarChartStats.PlayerRadarStats opponentStats =
+      beanRadarStats(opponent, minutes, MatchService.getBestPosition(opponent));
+    normalizeBean(playerStats);
+    normalizeBean(opponentStats);
+    return new RadarChartStats(match.getMetadata().getMatchId(), playerStats, opponentStats);
+  }
+
+  private int teamId(String puuid) {
+    for (int i = 0; i < participants.size(); i++) {
+      if (participants.get(i).getPuuid().equals(puuid)) {
+        return i < 5 ? 100 : 200;
+      }
+    }
+    throw new IllegalStateException("Player not found in match");
+  }
+
+  private static RadarChartStats.PlayerRadarStats beanRadarStats(MatchData.ParticipantDto participant,
+                                                                 double minutes, String position) {
+    RadarChartStats.PlayerRadarStats stats = new RadarChartStats.PlayerRadarStats();
+    stats.setPuuid(participant.getPuuid());
+    stats.setSummonerName(participant.getRiotIdGameName() + "#" + participant.getRiotIdTagline());
+    stats.setChampionName(participant.getChampionName());
+    stats.setLane(position);
+    stats.setWin(participant.isWin());
+    stats.setTotalDamageDealtToChampions(participant.getTotalDamageDealtToChampions());
+    stats.setTotalDamageTaken(participant.getTotalDamageTaken());
+    stats.setTotalMinionsKilled(participant.getTotalMinionsKilled());
+    stats.setNeutralMinionsKilled(participant.getNeutralMinionsKilled());
+    stats.setGoldEarned(participant.getGoldEarned());
+    stats.setVisionScore(participant.getVisionScore());
+    stats.setWardsPlaced(participant.getWardsPlaced());
+    stats.setWardsKilled(participant.getWardsKilled());
+    stats.setKills(participant.getKills());
+    stats.setDeaths(participant.getDeaths());
+    stats.setAssists(participant.getAssists());
+    stats.setKda(participant.getDeaths() == 0
+      ? participant.getKills() + participant.getAssists()
+      : (double) (participant.getKills() + participant.getAssists()) / participant.getDeaths());
+    stats.setDamage(participant.getTotalDamageDealtToChampions() / minutes);
+    stats.setDamageTaken(participant.getTotalDamageTaken() / minutes);
+    stats.setFarm((participant.getTotalMinionsKilled() + participant.getNeutralMinionsKilled()) / minutes);
+    stats.setGold(participant.getGoldEarned() / minutes);
+    stats.setVision(participant.getWardsPlaced() / minutes);
+    return stats;
+  }
+
+  private static void normalizeBean(RadarChartStats.PlayerRadarStats stats) {
+    PerformanceBenchmarks.Benchmark benchmark = PerformanceBenchmarks.getBenchmark(
+      PerformanceBenchmarks.getDefaultRank(), PerformanceBenchmarks.detectRole(stats.getLane()));
+    stats.setDamage(stats.getDamage() / benchmark.damagePerMin * 100);
+    stats.setGold(stats.getGold() / benchmark.goldPerMin * 100);
+    stats.setFarm(stats.getFarm() / benchmark.csPerMin * 100);
+    stats.setVision(stats.getVision() / benchmark.wardsPerMin * 100);
+    stats.setKda(stats.getKda() / benchmark.kda * 100);
+    stats.setDamageTaken(stats.getDamageTaken() / 450 * 100);
+  }
+}
@@ -0,0 +1,14 @@
+package com.edwardjtan.riot.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables the {@code *Async} service methods. They run on Boot's applicationTaskExecutor, which
+ * uses virtual threads when {@code spring.threads.virtual.enabled} is set, so a slow LLM report
+ * holds neither a Tomcat worker nor a platform thread while it waits on its upstream.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,93 @@
+package com.edwardjtan.riot.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Asks upstreams for gzip and transparently inflates gzip responses.
+ * The JDK HTTP client does not do content decoding on its own.
+ */
+class GzipDecompressingInterceptor implements ClientHttpRequestInterceptor {
+
+  @Override
+  public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+      throws IOException {
+    if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+      request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+    }
+    ClientHttpResponse response = execution.execute(request, body);
+    String encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+    if (encoding != null && encoding.trim().equalsIgnoreCase("gzip")) {
+      return new GzipResponse(response);
+    }
+    return response;
+  }
+
+  private static final class GzipResponse implements ClientHttpResponse {
+    private final ClientHttpResponse delegate;
+    private final HttpHeaders headers;
+    private InputStream body;
+
+    GzipResponse(ClientHttpResponse delegate) {
+      this.delegate = delegate;
+      // The decoded body no longer matches the upstream encoding or length
+      HttpHeaders copy = new HttpHeaders();
+      copy.putAll(delegate.getHeaders());
+      copy.remove(HttpHeaders.CONTENT_ENCODING);
+      copy.remove(HttpHeaders.CONTENT_LENGTH);
+      this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+      return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+      return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      if (body == null) {
+        body = inflate(delegate.getBody());
+      }
+      return body;
+    }
+
+    // 204s, 304s and HEAD responses can carry Content-Encoding with no body, and GZIPInputStream
+    // fails on a stream without a header, so peek for a first byte before inflating
+    private static InputStream inflate(InputStream raw) throws IOException {
+      if (raw == null) {
+        return InputStream.nullInputStream();
+      }
+      PushbackInputStream in = new PushbackInputStream(raw, 1);
+      int first = in.read();
+      if (first == -1) {
+        return in;
+      }
+      in.unread(first);
+      return new GZIPInputStream(in);
+    }
+
+    @Override
+    public void close() {
+      delegate.close();
+    }
+  }
+}
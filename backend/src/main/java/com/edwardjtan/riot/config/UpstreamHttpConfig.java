@@ -0,0 +1,63 @@
+package com.edwardjtan.riot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * One shared HTTP client for every upstream (Riot and Anthropic).
+ *
+ * The JDK client keeps a keep-alive connection pool per host and negotiates HTTP/2 over ALPN
+ * where the server offers it, so repeated calls reuse one TLS session instead of handshaking
+ * every time. Each upstream gets its own RestTemplate on top of the shared client so read
+ * timeouts can differ: Riot answers in milliseconds, an LLM report can take a minute.
+ */
+@Configuration
+public class UpstreamHttpConfig {
+
+  @Value("${upstream.http.connect-timeout:5s}")
+  private Duration connectTimeout;
+
+  @Value("${riot.http.read-timeout:10s}")
+  private Duration riotReadTimeout;
+
+  @Value("${anthropic.http.read-timeout:120s}")
+  private Duration anthropicReadTimeout;
+
+  @Bean
+  HttpClient upstreamHttpClient() {
+    return HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_2)
+      .connectTimeout(connectTimeout)
+      .followRedirects(HttpClient.Redirect.NORMAL)
+      // The client's own completion tasks stay on its default platform-thread pool: callers are
+      // virtual threads and may be pinned (e.g. inside a cache load), and must not wait on a
+      // task that needs a free carrier to run
+      .build();
+  }
+
+  @Bean
+  RestTemplate riotRestTemplate(RestTemplateBuilder builder, HttpClient upstreamHttpClient) {
+    return buildRestTemplate(builder, upstreamHttpClient, riotReadTimeout);
+  }
+
+  @Bean
+  RestTemplate anthropicRestTemplate(RestTemplateBuilder builder, HttpClient upstreamHttpClient) {
+    return buildRestTemplate(builder, upstreamHttpClient, anthropicReadTimeout);
+  }
+
+  private RestTemplate buildRestTemplate(RestTemplateBuilder builder, HttpClient httpClient, Duration readTimeout) {
+    JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+    requestFactory.setReadTimeout(readTimeout);
+    return builder
+      .requestFactory(() -> requestFactory)
+      .additionalInterceptors(new GzipDecompressingInterceptor())
+      .build();
+  }
+}
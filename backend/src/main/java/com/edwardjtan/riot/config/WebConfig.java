@@ -13,6 +13,7 @@ public class WebConfig implements WebMvcConfigurer {
       .allowedOrigins("*")  // Allow all origins (for development)
       .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
       .allowedHeaders("*")
+      .exposedHeaders("Server-Timing")  // Readable by the frontend's fetch, not just devtools
       .maxAge(3600);
   }
 }
@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/comparison")
@@ -21,17 +22,14 @@ public class APIComparisonController {
      * GET /api/comparison/compare?prompt=YOUR_PROMPT&anthropicModel=MODEL&openaiModel=MODEL
      */
     @GetMapping("/compare")
-    public ResponseEntity<List<APIComparisonResult>> compareProviders(
+    public CompletableFuture<ResponseEntity<List<APIComparisonResult>>> compareProviders(
             @RequestParam String prompt,
             @RequestParam(required = false, defaultValue = "claude-sonnet-4-20250514") String anthropicModel,
             @RequestParam(required = false, defaultValue = "gpt-4o") String openaiModel) {
 
-        try {
-            List<APIComparisonResult> results = comparisonService.compareProviders(prompt, anthropicModel, openaiModel);
-            return ResponseEntity.ok(results);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        return comparisonService.compareProvidersAsync(prompt, anthropicModel, openaiModel)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> ResponseEntity.internalServerError().build());
     }
 
     /**
@@ -39,16 +37,13 @@ public class APIComparisonController {
      * GET /api/comparison/anthropic?prompt=YOUR_PROMPT&model=MODEL
      */
     @GetMapping("/anthropic")
-    public ResponseEntity<APIComparisonResult> testAnthropic(
+    public CompletableFuture<ResponseEntity<APIComparisonResult>> testAnthropic(
             @RequestParam String prompt,
             @RequestParam(required = false, defaultValue = "claude-sonnet-4-20250514") String model) {
 
-        try {
-            APIComparisonResult result = comparisonService.testAnthropic(prompt, model);
-            return ResponseEntity.ok(result);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        return comparisonService.testAnthropicAsync(prompt, model)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> ResponseEntity.internalServerError().build());
     }
 
     /**
@@ -56,15 +51,12 @@ public class APIComparisonController {
      * GET /api/comparison/openai?prompt=YOUR_PROMPT&model=MODEL
      */
     @GetMapping("/openai")
-    public ResponseEntity<APIComparisonResult> testOpenAI(
+    public CompletableFuture<ResponseEntity<APIComparisonResult>> testOpenAI(
             @RequestParam String prompt,
             @RequestParam(required = false, defaultValue = "gpt-4o") String model) {
 
-        try {
-            APIComparisonResult result = comparisonService.testOpenAI(prompt, model);
-            return ResponseEntity.ok(result);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        return comparisonService.testOpenAIAsync(prompt, model)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> ResponseEntity.internalServerError().build());
     }
 }
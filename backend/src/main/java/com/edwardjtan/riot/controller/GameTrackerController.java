@@ -1,12 +1,27 @@
 package com.edwardjtan.riot.controller;
 
 import com.edwardjtan.riot.model.GameReportComparison;
+import com.edwardjtan.riot.model.ReportBatchEntry;
+import com.edwardjtan.riot.model.ReportBatchJob;
+import com.edwardjtan.riot.model.RequestTimings;
 import com.edwardjtan.riot.service.GameReportComparisonService;
 import com.edwardjtan.riot.service.GameTrackerService;
+import com.edwardjtan.riot.service.ReportBatchService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/game-tracker")
@@ -15,87 +30,147 @@ public class GameTrackerController {
 
   private final GameTrackerService gameTrackerService;
   private final GameReportComparisonService comparisonService;
+  private final ReportBatchService reportBatchService;
+  private final Duration batchStreamTimeout;
 
   public GameTrackerController(GameTrackerService gameTrackerService,
-                               GameReportComparisonService comparisonService) {
+                               GameReportComparisonService comparisonService,
+                               ReportBatchService reportBatchService,
+                               @Value("${report.batch.stream-timeout:30m}") Duration batchStreamTimeout) {
     this.gameTrackerService = gameTrackerService;
     this.comparisonService = comparisonService;
+    this.reportBatchService = reportBatchService;
+    this.batchStreamTimeout = batchStreamTimeout;
   }
 
+  /**
+   * The report as text, with a Server-Timing header breaking down where the time went
+   * (PUUID lookup, latest match, analysis, LLM). With debug=true the body is instead
+   * {"report": ..., "timings": {"account": ms, ..., "total": ms}}.
+   * GET /api/game-tracker/report?gameName=NAME&tagLine=TAG
+   */
   @GetMapping("/report")
-  public ResponseEntity<String> getGameReport(
+  public CompletableFuture<ResponseEntity<Object>> getGameReport(
     @RequestParam String gameName,
-    @RequestParam String tagLine
+    @RequestParam String tagLine,
+    @RequestParam(defaultValue = "false") boolean debug
   ) {
-    try {
-      String report = gameTrackerService.generateGameReport(gameName, tagLine);
-      return ResponseEntity.ok(report);
-    } catch (Exception e) {
-      String errorDetails = "Error: " + e.getMessage();
-      if (e.getCause() != null) {
-        errorDetails += "\nCause: " + e.getCause().getMessage();
-      }
-      e.printStackTrace();
-      return ResponseEntity.status(500).body(errorDetails);
-    }
+    RequestTimings timings = new RequestTimings();
+    return gameTrackerService.generateGameReportAsync(gameName, tagLine, timings)
+      .thenApply(report -> reportResponse(report, timings, debug))
+      .exceptionally(e -> reportError(e, timings));
   }
 
   @GetMapping("/report/{gameName}/{tagLine}")
-  public ResponseEntity<String> getGameReportPath(
+  public CompletableFuture<ResponseEntity<Object>> getGameReportPath(
     @PathVariable String gameName,
-    @PathVariable String tagLine
+    @PathVariable String tagLine,
+    @RequestParam(defaultValue = "false") boolean debug
   ) {
-    try {
-      String report = gameTrackerService.generateGameReport(gameName, tagLine);
-      return ResponseEntity.ok(report);
-    } catch (Exception e) {
-      String errorDetails = "Error: " + e.getMessage();
-      if (e.getCause() != null) {
-        errorDetails += "\nCause: " + e.getCause().getMessage();
-      }
-      e.printStackTrace();
-      return ResponseEntity.status(500).body(errorDetails);
-    }
+    RequestTimings timings = new RequestTimings();
+    return gameTrackerService.generateGameReportAsync(gameName, tagLine, timings)
+      .thenApply(report -> reportResponse(report, timings, debug))
+      .exceptionally(e -> reportError(e, timings));
   }
 
   @GetMapping("/report-by-match")
-  public ResponseEntity<String> getGameReportByMatch(
+  public CompletableFuture<ResponseEntity<Object>> getGameReportByMatch(
+    @RequestParam String matchId,
+    @RequestParam String puuid,
+    @RequestParam(defaultValue = "false") boolean debug
+  ) {
+    RequestTimings timings = new RequestTimings();
+    return gameTrackerService.generateGameReportByMatchIdAsync(matchId, puuid, timings)
+      .thenApply(report -> reportResponse(report, timings, debug))
+      .exceptionally(e -> reportError(e, timings));
+  }
+
+  /**
+   * Stream the game report as Server-Sent Events while Claude writes it:
+   * "delta" events carry {"text": ...} chunks, then one "done" or "error" event ends the stream.
+   * GET /api/game-tracker/report/stream?gameName=NAME&tagLine=TAG
+   */
+  @GetMapping(value = "/report/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamGameReport(
+    @RequestParam String gameName,
+    @RequestParam String tagLine
+  ) {
+    SseEmitter emitter = new SseEmitter();
+    gameTrackerService.streamGameReportAsync(gameName, tagLine, text -> sendDelta(emitter, text))
+      .whenComplete((report, e) -> finishStream(emitter, e));
+    return emitter;
+  }
+
+  /**
+   * GET /api/game-tracker/report-by-match/stream?matchId=MATCH_ID&puuid=PUUID
+   */
+  @GetMapping(value = "/report-by-match/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamGameReportByMatch(
     @RequestParam String matchId,
     @RequestParam String puuid
   ) {
+    SseEmitter emitter = new SseEmitter();
+    gameTrackerService.streamGameReportByMatchIdAsync(matchId, puuid, text -> sendDelta(emitter, text))
+      .whenComplete((report, e) -> finishStream(emitter, e));
+    return emitter;
+  }
+
+  /**
+   * Queue reports for many (matchId, puuid) pairs, e.g. every player of a scrim
+   * POST /api/game-tracker/report-batch with [{"matchId": "...", "puuid": "..."}, ...]
+   * Returns 202 with the job (poll it, or stream it below), 400 for a bad batch, 503 when the queue is full
+   */
+  @PostMapping("/report-batch")
+  public ResponseEntity<?> submitReportBatch(@RequestBody List<ReportBatchEntry> entries) {
     try {
-      String report = gameTrackerService.generateGameReportByMatchId(matchId, puuid);
-      return ResponseEntity.ok(report);
-    } catch (Exception e) {
-      String errorDetails = "Error: " + e.getMessage();
-      if (e.getCause() != null) {
-        errorDetails += "\nCause: " + e.getCause().getMessage();
-      }
-      e.printStackTrace();
-      return ResponseEntity.status(500).body(errorDetails);
+      return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportBatchService.submit(entries));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "30")
+        .body(Map.of("error", e.getMessage()));
     }
   }
 
+  /**
+   * GET /api/game-tracker/report-batch/{jobId}
+   */
+  @GetMapping("/report-batch/{jobId}")
+  public ResponseEntity<ReportBatchJob> getReportBatch(@PathVariable String jobId) {
+    ReportBatchJob job = reportBatchService.getJob(jobId);
+    return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+  }
+
+  /**
+   * Stream a batch job: one "result" event per entry as it finishes (finished ones first), then "done"
+   * GET /api/game-tracker/report-batch/{jobId}/stream
+   */
+  @GetMapping(value = "/report-batch/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamReportBatch(@PathVariable String jobId) {
+    // A large batch runs far longer than one report, so it gets its own timeout
+    SseEmitter emitter = new SseEmitter(batchStreamTimeout.toMillis());
+    CompletableFuture<ReportBatchJob> done = reportBatchService.subscribe(jobId, entry -> sendResult(emitter, entry));
+    if (done == null) {
+      return ResponseEntity.notFound().build();
+    }
+    done.whenComplete((job, e) -> finishStream(emitter, e));
+    return ResponseEntity.ok(emitter);
+  }
+
   /**
    * Compare different AI providers for generating game reports
    * GET /api/game-tracker/compare?gameName=NAME&tagLine=TAG&anthropicModel=MODEL&openaiModel=MODEL
    */
   @GetMapping("/compare")
-  public ResponseEntity<List<GameReportComparison>> compareGameReports(
+  public CompletableFuture<ResponseEntity<List<GameReportComparison>>> compareGameReports(
     @RequestParam String gameName,
     @RequestParam String tagLine,
     @RequestParam(required = false, defaultValue = "claude-3-5-haiku-20241022") String anthropicModel,
     @RequestParam(required = false, defaultValue = "gpt-4o-mini") String openaiModel
   ) {
-    try {
-      List<GameReportComparison> comparisons = comparisonService.compareGameReports(
-        gameName, tagLine, anthropicModel, openaiModel
-      );
-      return ResponseEntity.ok(comparisons);
-    } catch (Exception e) {
-      e.printStackTrace();
-      return ResponseEntity.status(500).build();
-    }
+    return comparisonService.compareGameReportsAsync(gameName, tagLine, anthropicModel, openaiModel)
+      .thenApply(ResponseEntity::ok)
+      .exceptionally(GameTrackerController::comparisonError);
   }
 
   /**
@@ -104,20 +179,110 @@ public class GameTrackerController {
    * Returns JSON with speed, token usage, and reports for each model
    */
   @GetMapping("/compare-by-match")
-  public ResponseEntity<List<GameReportComparison>> compareGameReportsByMatchId(
+  public CompletableFuture<ResponseEntity<List<GameReportComparison>>> compareGameReportsByMatchId(
+    @RequestParam String matchId,
+    @RequestParam String puuid,
+    @RequestParam(required = false, defaultValue = "claude-3-5-haiku-20241022") String anthropicModel,
+    @RequestParam(required = false, defaultValue = "gpt-4o-mini") String openaiModel
+  ) {
+    return comparisonService.compareGameReportsByMatchIdAsync(matchId, puuid, anthropicModel, openaiModel)
+      .thenApply(ResponseEntity::ok)
+      .exceptionally(GameTrackerController::comparisonError);
+  }
+
+  /**
+   * Compare AI providers, streaming each provider's result as soon as it finishes
+   * GET /api/game-tracker/compare/stream?gameName=NAME&tagLine=TAG&anthropicModel=MODEL&openaiModel=MODEL
+   * Emits one "result" event (a GameReportComparison) per provider, then "done" or "error"
+   */
+  @GetMapping(value = "/compare/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamGameReportComparison(
+    @RequestParam String gameName,
+    @RequestParam String tagLine,
+    @RequestParam(required = false, defaultValue = "claude-3-5-haiku-20241022") String anthropicModel,
+    @RequestParam(required = false, defaultValue = "gpt-4o-mini") String openaiModel
+  ) {
+    SseEmitter emitter = new SseEmitter();
+    comparisonService.streamGameReportComparisonAsync(gameName, tagLine, anthropicModel, openaiModel,
+        comparison -> sendResult(emitter, comparison))
+      .whenComplete((comparisons, e) -> finishStream(emitter, e));
+    return emitter;
+  }
+
+  /**
+   * Compare AI providers by match ID, streaming each provider's result as soon as it finishes
+   * GET /api/game-tracker/compare-by-match/stream?matchId=MATCH_ID&puuid=PUUID&anthropicModel=MODEL&openaiModel=MODEL
+   */
+  @GetMapping(value = "/compare-by-match/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamGameReportComparisonByMatchId(
     @RequestParam String matchId,
     @RequestParam String puuid,
     @RequestParam(required = false, defaultValue = "claude-3-5-haiku-20241022") String anthropicModel,
     @RequestParam(required = false, defaultValue = "gpt-4o-mini") String openaiModel
   ) {
+    SseEmitter emitter = new SseEmitter();
+    comparisonService.streamGameReportComparisonByMatchIdAsync(matchId, puuid, anthropicModel, openaiModel,
+        comparison -> sendResult(emitter, comparison))
+      .whenComplete((comparisons, e) -> finishStream(emitter, e));
+    return emitter;
+  }
+
+  private static ResponseEntity<Object> reportResponse(String report, RequestTimings timings, boolean debug) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok().header(RequestTimings.HEADER, timings.toServerTiming());
+    return debug ? response.body(Map.of("report", report, "timings", timings.toMap())) : response.body(report);
+  }
+
+  // Failed requests still carry the timings of the steps that ran, so a timeout can be attributed
+  private static ResponseEntity<Object> reportError(Throwable t, RequestTimings timings) {
+    Throwable e = unwrap(t);
+    String errorDetails = "Error: " + e.getMessage();
+    if (e.getCause() != null) {
+      errorDetails += "\nCause: " + e.getCause().getMessage();
+    }
+    e.printStackTrace();
+    return ResponseEntity.status(500).header(RequestTimings.HEADER, timings.toServerTiming()).body(errorDetails);
+  }
+
+  // Deltas are sent as JSON so newlines in the text can't break SSE framing
+  private static void sendDelta(SseEmitter emitter, String text) {
+    try {
+      emitter.send(SseEmitter.event().name("delta").data(Map.of("text", text), MediaType.APPLICATION_JSON));
+    } catch (IOException e) {
+      // The client went away; failing the callback also aborts the upstream stream
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void sendResult(SseEmitter emitter, Object result) {
     try {
-      List<GameReportComparison> comparisons = comparisonService.compareGameReportsByMatchId(
-        matchId, puuid, anthropicModel, openaiModel
-      );
-      return ResponseEntity.ok(comparisons);
-    } catch (Exception e) {
-      e.printStackTrace();
-      return ResponseEntity.status(500).build();
+      emitter.send(SseEmitter.event().name("result").data(result, MediaType.APPLICATION_JSON));
+    } catch (IOException | IllegalStateException e) {
+      // Client went away; the remaining results are still produced and are dropped
     }
   }
+
+  private static void finishStream(SseEmitter emitter, Throwable t) {
+    try {
+      if (t == null) {
+        emitter.send(SseEmitter.event().name("done").data(Map.of(), MediaType.APPLICATION_JSON));
+      } else {
+        Throwable e = unwrap(t);
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        emitter.send(SseEmitter.event().name("error").data(Map.of("message", message), MediaType.APPLICATION_JSON));
+      }
+    } catch (IOException | IllegalStateException e) {
+      // Client already disconnected or the emitter timed out; nothing left to tell it
+    }
+    emitter.complete();
+  }
+
+  private static <T> ResponseEntity<T> comparisonError(Throwable t) {
+    unwrap(t).printStackTrace();
+    return ResponseEntity.status(500).build();
+  }
+
+  // Failures of an async service call arrive wrapped in a CompletionException
+  private static Throwable unwrap(Throwable t) {
+    return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+  }
 }
@@ -4,11 +4,15 @@ import com.edwardjtan.riot.model.MatchDetails;
 import com.edwardjtan.riot.model.MatchSummary;
 import com.edwardjtan.riot.model.RadarChartStats;
 import com.edwardjtan.riot.service.MatchService;
+import com.edwardjtan.riot.service.RiotRateLimitedException;
 import com.edwardjtan.riot.service.SummonerService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api")
@@ -28,23 +32,16 @@ public class MatchController {
    * GET /api/matches?gameName=NAME&tagLine=TAG&count=20
    */
   @GetMapping("/matches")
-  public ResponseEntity<List<MatchSummary>> getRecentMatches(
+  public CompletableFuture<ResponseEntity<List<MatchSummary>>> getRecentMatches(
     @RequestParam String gameName,
     @RequestParam String tagLine,
     @RequestParam(required = false, defaultValue = "20") int count
   ) {
-    try {
-      // Get PUUID from Riot ID
-      String puuid = summonerService.getPuuidByRiotId(gameName, tagLine);
-
-      // Get recent matches
-      List<MatchSummary> matches = matchService.getRecentMatches(puuid, count);
-
-      return ResponseEntity.ok(matches);
-    } catch (Exception e) {
-      e.printStackTrace();
-      return ResponseEntity.status(500).build();
-    }
+    // Get PUUID from Riot ID, then recent matches
+    return summonerService.getPuuidByRiotIdAsync(gameName, tagLine)
+      .thenCompose(puuid -> matchService.getRecentMatchesAsync(puuid, count))
+      .thenApply(ResponseEntity::ok)
+      .exceptionally(MatchController::errorResponse);
   }
 
   /**
@@ -52,17 +49,13 @@ public class MatchController {
    * GET /api/match/{matchId}?puuid=PUUID
    */
   @GetMapping("/match/{matchId}")
-  public ResponseEntity<MatchDetails> getMatchDetails(
+  public CompletableFuture<ResponseEntity<MatchDetails>> getMatchDetails(
     @PathVariable String matchId,
     @RequestParam String puuid
   ) {
-    try {
-      MatchDetails details = matchService.getMatchDetails(matchId, puuid);
-      return ResponseEntity.ok(details);
-    } catch (Exception e) {
-      e.printStackTrace();
-      return ResponseEntity.status(500).build();
-    }
+    return matchService.getMatchDetailsAsync(matchId, puuid)
+      .thenApply(ResponseEntity::ok)
+      .exceptionally(MatchController::errorResponse);
   }
 
   /**
@@ -70,16 +63,28 @@ public class MatchController {
    * GET /api/match/{matchId}/radar?puuid=PUUID
    */
   @GetMapping("/match/{matchId}/radar")
-  public ResponseEntity<RadarChartStats> getRadarChartStats(
+  public CompletableFuture<ResponseEntity<RadarChartStats>> getRadarChartStats(
     @PathVariable String matchId,
     @RequestParam String puuid
   ) {
-    try {
-      RadarChartStats radarStats = matchService.getRadarChartStats(matchId, puuid);
-      return ResponseEntity.ok(radarStats);
-    } catch (Exception e) {
-      e.printStackTrace();
-      return ResponseEntity.status(500).build();
+    return matchService.getRadarChartStatsAsync(matchId, puuid)
+      .thenApply(ResponseEntity::ok)
+      .exceptionally(MatchController::errorResponse);
+  }
+
+  /**
+   * Riot rate limiting is reported as 503 with Retry-After so clients can back off;
+   * anything else stays a generic 500.
+   */
+  private static <T> ResponseEntity<T> errorResponse(Throwable e) {
+    RiotRateLimitedException rateLimited = RiotRateLimitedException.findIn(e);
+    if (rateLimited != null) {
+      long retryAfterSeconds = Math.max(1, (rateLimited.getRetryAfterMillis() + 999) / 1000);
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+        .build();
     }
+    e.printStackTrace();
+    return ResponseEntity.status(500).build();
   }
 }
@@ -0,0 +1,31 @@
+package com.edwardjtan.riot.controller;
+
+import com.edwardjtan.riot.model.PlayerAggregates;
+import com.edwardjtan.riot.service.PlayerAggregateStore;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/player")
+class PlayerController {
+
+  private final PlayerAggregateStore playerAggregates;
+
+  PlayerController(PlayerAggregateStore playerAggregates) {
+    this.playerAggregates = playerAggregates;
+  }
+
+  /**
+   * Averages, win rates by champion and role, and per-game percentiles over every match of the
+   * player this server has loaded; 404 until at least one has been
+   * GET /api/player/{puuid}/aggregates
+   */
+  @GetMapping("/{puuid}/aggregates")
+  ResponseEntity<PlayerAggregates> getAggregates(@PathVariable String puuid) {
+    PlayerAggregates aggregates = playerAggregates.get(puuid);
+    return aggregates == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(aggregates);
+  }
+}
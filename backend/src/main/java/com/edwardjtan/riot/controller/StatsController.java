@@ -0,0 +1,173 @@
+package com.edwardjtan.riot.controller;
+
+import com.edwardjtan.riot.service.BenchmarkDistributions;
+import com.edwardjtan.riot.service.MatchCache;
+import com.edwardjtan.riot.service.MatchService;
+import com.edwardjtan.riot.service.MatchStore;
+import com.edwardjtan.riot.service.PlayerAggregateStore;
+import com.edwardjtan.riot.service.PythonWorkerPool;
+import com.edwardjtan.riot.service.ReportBatchService;
+import com.edwardjtan.riot.service.ReportCache;
+import com.edwardjtan.riot.service.RiotRateLimiter;
+import com.edwardjtan.riot.service.SummonerService;
+import com.edwardjtan.riot.service.TimelineService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Operational counters for the in-process caches and upstream clients.
+ */
+@RestController
+@RequestMapping("/api/stats")
+class StatsController {
+
+  private final MatchCache matchCache;
+  private final MatchStore matchStore;
+  private final MatchService matchService;
+  private final SummonerService summonerService;
+  private final RiotRateLimiter riotRateLimiter;
+  private final ReportCache reportCache;
+  private final PythonWorkerPool pythonWorkerPool;
+  private final ReportBatchService reportBatchService;
+  private final PlayerAggregateStore playerAggregates;
+  private final BenchmarkDistributions benchmarks;
+  private final TimelineService timelineService;
+
+  StatsController(MatchCache matchCache,
+                  MatchStore matchStore,
+                  MatchService matchService,
+                  SummonerService summonerService,
+                  RiotRateLimiter riotRateLimiter,
+                  ReportCache reportCache,
+                  PythonWorkerPool pythonWorkerPool,
+                  ReportBatchService reportBatchService,
+                  PlayerAggregateStore playerAggregates,
+                  BenchmarkDistributions benchmarks,
+                  TimelineService timelineService) {
+    this.matchCache = matchCache;
+    this.matchStore = matchStore;
+    this.matchService = matchService;
+    this.summonerService = summonerService;
+    this.riotRateLimiter = riotRateLimiter;
+    this.reportCache = reportCache;
+    this.pythonWorkerPool = pythonWorkerPool;
+    this.reportBatchService = reportBatchService;
+    this.playerAggregates = playerAggregates;
+    this.benchmarks = benchmarks;
+    this.timelineService = timelineService;
+  }
+
+  /**
+   * Match cache hit/miss/eviction counters
+   * GET /api/stats/match-cache
+   */
+  @GetMapping("/match-cache")
+  Map<String, Object> getMatchCacheStats() {
+    return matchCache.describe();
+  }
+
+  /**
+   * On-disk match store size and hit/miss counters
+   * GET /api/stats/match-store
+   */
+  @GetMapping("/match-store")
+  Map<String, Object> getMatchStoreStats() {
+    return matchStore.describe();
+  }
+
+  /**
+   * Riot calls saved by coalescing concurrent identical requests
+   * GET /api/stats/coalescing
+   */
+  @GetMapping("/coalescing")
+  Map<String, Long> getCoalescingStats() {
+    return Map.of(
+      "matchFetches", matchService.getCoalescedMatchFetches()
+    );
+  }
+
+  /**
+   * Per-PUUID match history syncs: full vs delta, and new matches fetched
+   * GET /api/stats/match-history
+   */
+  @GetMapping("/match-history")
+  Map<String, Object> getMatchHistoryStats() {
+    return matchService.describeMatchHistory();
+  }
+
+  /**
+   * Samples and medians of the per-role radar benchmark distributions
+   * GET /api/stats/benchmarks
+   */
+  @GetMapping("/benchmarks")
+  Map<String, Object> getBenchmarkStats() {
+    return benchmarks.describe();
+  }
+
+  /**
+   * Parsed match timelines held in memory and bytes downloaded
+   * GET /api/stats/timelines
+   */
+  @GetMapping("/timelines")
+  Map<String, Object> getTimelineStats() {
+    return timelineService.describe();
+  }
+
+  /**
+   * Players with aggregate stats and matches folded into them
+   * GET /api/stats/player-aggregates
+   */
+  @GetMapping("/player-aggregates")
+  Map<String, Object> getPlayerAggregateStats() {
+    return playerAggregates.describe();
+  }
+
+  /**
+   * Riot ID to PUUID cache hit/miss and load counters
+   * GET /api/stats/puuid-cache
+   */
+  @GetMapping("/puuid-cache")
+  Map<String, Object> getPuuidCacheStats() {
+    return summonerService.describePuuidCache();
+  }
+
+  /**
+   * Riot rate limiter queue depth, wait times and learned limits
+   * GET /api/stats/riot-rate-limit
+   */
+  @GetMapping("/riot-rate-limit")
+  Map<String, Object> getRiotRateLimitStats() {
+    return riotRateLimiter.describe();
+  }
+
+  /**
+   * Generated report cache hit rate and size
+   * GET /api/stats/report-cache
+   */
+  @GetMapping("/report-cache")
+  Map<String, Object> getReportCacheStats() {
+    return reportCache.describe();
+  }
+
+  /**
+   * Python provider worker liveness and in-flight requests
+   * GET /api/stats/python-workers
+   */
+  @GetMapping("/python-workers")
+  Map<String, Object> getPythonWorkerStats() {
+    return pythonWorkerPool.describe();
+  }
+
+  /**
+   * Batch report queue depth and worker activity
+   * GET /api/stats/report-batch
+   */
+  @GetMapping("/report-batch")
+  Map<String, Object> getReportBatchStats() {
+    return reportBatchService.describe();
+  }
+
+}
@@ -21,6 +21,14 @@ public class MatchData {
     return info;
   }
 
+  public void setMetadata(Metadata metadata) {
+    this.metadata = metadata;
+  }
+
+  public void setInfo(Info info) {
+    this.info = info;
+  }
+
   @JsonIgnoreProperties(ignoreUnknown = true)
   public static class Metadata {
     @JsonProperty("matchId")
@@ -29,6 +37,10 @@ public class MatchData {
     public String getMatchId() {
       return matchId;
     }
+
+    public void setMatchId(String matchId) {
+      this.matchId = matchId;
+    }
   }
 
   @JsonIgnoreProperties(ignoreUnknown = true)
@@ -53,6 +65,18 @@ public class MatchData {
     public List<ParticipantDto> getParticipants() {
       return participants;
     }
+
+    public void setGameDuration(long gameDuration) {
+      this.gameDuration = gameDuration;
+    }
+
+    public void setGameCreation(long gameCreation) {
+      this.gameCreation = gameCreation;
+    }
+
+    public void setParticipants(List<ParticipantDto> participants) {
+      this.participants = participants;
+    }
   }
 
   @JsonIgnoreProperties(ignoreUnknown = true)
@@ -170,5 +194,35 @@ public class MatchData {
     public int getTotalDamageTaken() { return totalDamageTaken; }
     public int getWardsPlaced() { return wardsPlaced; }
     public int getWardsKilled() { return wardsKilled; }
+
+    // Setters
+    public void setPuuid(String puuid) { this.puuid = puuid; }
+    public void setChampionName(String championName) { this.championName = championName; }
+    public void setKills(int kills) { this.kills = kills; }
+    public void setDeaths(int deaths) { this.deaths = deaths; }
+    public void setAssists(int assists) { this.assists = assists; }
+    public void setWin(boolean win) { this.win = win; }
+    public void setGoldEarned(int goldEarned) { this.goldEarned = goldEarned; }
+    public void setVisionScore(int visionScore) { this.visionScore = visionScore; }
+    public void setTotalMinionsKilled(int totalMinionsKilled) { this.totalMinionsKilled = totalMinionsKilled; }
+    public void setNeutralMinionsKilled(int neutralMinionsKilled) { this.neutralMinionsKilled = neutralMinionsKilled; }
+    public void setDoubleKills(int doubleKills) { this.doubleKills = doubleKills; }
+    public void setTripleKills(int tripleKills) { this.tripleKills = tripleKills; }
+    public void setQuadraKills(int quadraKills) { this.quadraKills = quadraKills; }
+    public void setPentaKills(int pentaKills) { this.pentaKills = pentaKills; }
+    public void setLane(String lane) { this.lane = lane; }
+    public void setTeamPosition(String teamPosition) { this.teamPosition = teamPosition; }
+    public void setIndividualPosition(String individualPosition) { this.individualPosition = individualPosition; }
+    public void setSummonerName(String summonerName) { this.summonerName = summonerName; }
+    public void setRiotIdGameName(String riotIdGameName) { this.riotIdGameName = riotIdGameName; }
+    public void setRiotIdTagline(String riotIdTagline) { this.riotIdTagline = riotIdTagline; }
+    public void setSummoner1Id(int summoner1Id) { this.summoner1Id = summoner1Id; }
+    public void setSummoner2Id(int summoner2Id) { this.summoner2Id = summoner2Id; }
+    public void setSummoner1Casts(int summoner1Casts) { this.summoner1Casts = summoner1Casts; }
+    public void setSummoner2Casts(int summoner2Casts) { this.summoner2Casts = summoner2Casts; }
+    public void setTotalDamageDealtToChampions(int totalDamageDealtToChampions) { this.totalDamageDealtToChampions = totalDamageDealtToChampions; }
+    public void setTotalDamageTaken(int totalDamageTaken) { this.totalDamageTaken = totalDamageTaken; }
+    public void setWardsPlaced(int wardsPlaced) { this.wardsPlaced = wardsPlaced; }
+    public void setWardsKilled(int wardsKilled) { this.wardsKilled = wardsKilled; }
   }
 }
@@ -0,0 +1,136 @@
+package com.edwardjtan.riot.model;
+
+/**
+ * A match-v5 timeline reduced to what analysis uses: kills, objectives and item purchases as rows
+ * of parallel primitive arrays, plus the per-minute participant frames as {@link TimelineFrames}.
+ * Participants are numbered 1-10 as in the timeline; actor 0 means no champion (a minion, turret
+ * or monster got the kill).
+ */
+public class MatchTimeline {
+
+  // Event types
+  public static final int CHAMPION_KILL = 1;      // actor killed target; assists is a bitmask of participant IDs
+  public static final int MULTI_KILL = 2;         // detail: length of the streak (2 = double kill)
+  public static final int FIRST_BLOOD = 3;
+  public static final int ELITE_MONSTER_KILL = 4; // target: team ID that took it; detail: index into MONSTERS
+  public static final int BUILDING_KILL = 5;      // target: team ID that lost it; detail: see buildingName
+  public static final int ITEM_PURCHASED = 6;     // detail: item ID
+
+  public static final String[] MONSTERS = {
+    "Monster", "Baron Nashor", "Rift Herald", "Voidgrubs", "Atakhan",
+    "Cloud Drake", "Mountain Drake", "Infernal Drake", "Ocean Drake", "Hextech Drake", "Chemtech Drake",
+    "Elder Dragon"
+  };
+  public static final String[] LANES = {"", "top", "mid", "bot"};
+  public static final String[] STRUCTURES = {"tower", "inhibitor", "nexus tower"};
+
+  private final String matchId;
+  private final String[] puuids;
+
+  private final int eventCount;
+  private final byte[] types;
+  private final int[] timestamps;
+  private final int[] actors;
+  private final int[] targets;
+  private final int[] assists;
+  private final int[] details;
+
+  private final TimelineFrames frames;
+
+  public MatchTimeline(String matchId, String[] puuids,
+                       int eventCount, byte[] types, int[] timestamps, int[] actors, int[] targets,
+                       int[] assists, int[] details, TimelineFrames frames) {
+    this.matchId = matchId;
+    this.puuids = puuids;
+    this.eventCount = eventCount;
+    this.types = types;
+    this.timestamps = timestamps;
+    this.actors = actors;
+    this.targets = targets;
+    this.assists = assists;
+    this.details = details;
+    this.frames = frames;
+  }
+
+  public String getMatchId() {
+    return matchId;
+  }
+
+  public int getParticipantCount() {
+    return puuids.length;
+  }
+
+  /**
+   * The participant ID (1-based) of a PUUID, or 0 if they are not in the match.
+   */
+  public int getParticipantId(String puuid) {
+    for (int i = 0; i < puuids.length; i++) {
+      if (puuids[i].equals(puuid)) {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  public String getPuuid(int participantId) {
+    return puuids[participantId - 1];
+  }
+
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  public int getType(int event) {
+    return types[event];
+  }
+
+  /**
+   * Milliseconds since the game started.
+   */
+  public int getTimestamp(int event) {
+    return timestamps[event];
+  }
+
+  public int getActor(int event) {
+    return actors[event];
+  }
+
+  public int getTarget(int event) {
+    return targets[event];
+  }
+
+  public boolean isAssist(int event, int participantId) {
+    return (assists[event] & (1 << participantId)) != 0;
+  }
+
+  public int getDetail(int event) {
+    return details[event];
+  }
+
+  public TimelineFrames getFrames() {
+    return frames;
+  }
+
+  /**
+   * Approximate heap size, for cache weighing.
+   */
+  public long estimatedBytes() {
+    // Strings of ~78 char PUUIDs, six event columns with 16 byte headers, and this object
+    long bytes = 16 + puuids.length * 120L;
+    bytes += 6 * 16 + eventCount * (1L + 5 * 4);
+    return bytes + frames.estimatedBytes() + 64;
+  }
+
+  /**
+   * "mid tower", "bot inhibitor" etc. for a BUILDING_KILL detail.
+   */
+  public static String buildingName(int detail) {
+    String lane = LANES[detail % LANES.length];
+    String structure = STRUCTURES[detail / LANES.length];
+    return lane.isEmpty() ? structure : lane + " " + structure;
+  }
+
+  public static int buildingDetail(int structure, int lane) {
+    return structure * LANES.length + lane;
+  }
+}
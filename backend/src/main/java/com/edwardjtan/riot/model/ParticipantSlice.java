@@ -0,0 +1,42 @@
+package com.edwardjtan.riot.model;
+
+/**
+ * The part of a match a single-player view needs: match-level fields, the player,
+ * and (when asked for) their lane opponent.
+ */
+public class ParticipantSlice {
+  private final String matchId;
+  private final long gameDuration;
+  private final long gameCreation;
+  private final MatchData.ParticipantDto player;
+  private final MatchData.ParticipantDto opponent;
+
+  public ParticipantSlice(String matchId, long gameDuration, long gameCreation,
+                          MatchData.ParticipantDto player, MatchData.ParticipantDto opponent) {
+    this.matchId = matchId;
+    this.gameDuration = gameDuration;
+    this.gameCreation = gameCreation;
+    this.player = player;
+    this.opponent = opponent;
+  }
+
+  public String getMatchId() {
+    return matchId;
+  }
+
+  public long getGameDuration() {
+    return gameDuration;
+  }
+
+  public long getGameCreation() {
+    return gameCreation;
+  }
+
+  public MatchData.ParticipantDto getPlayer() {
+    return player;
+  }
+
+  public MatchData.ParticipantDto getOpponent() {
+    return opponent;
+  }
+}
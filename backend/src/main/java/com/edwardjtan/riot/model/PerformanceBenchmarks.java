@@ -33,14 +33,44 @@ public class PerformanceBenchmarks {
         }
     }
 
+    // Radar stat columns, in the order radar values are laid out in arrays
+    public static final int STAT_DAMAGE = 0;        // damage to champions per minute
+    public static final int STAT_DAMAGE_TAKEN = 1;  // damage taken per minute
+    public static final int STAT_FARM = 2;          // CS per minute
+    public static final int STAT_GOLD = 3;          // gold per minute
+    public static final int STAT_VISION = 4;        // wards placed per minute
+    public static final int STAT_KDA = 5;
+    public static final int STAT_COUNT = 6;
+
+    // Rough average damage taken per minute across roles; the tables have no per-role figure
+    private static final double AVG_DAMAGE_TAKEN_PER_MIN = 450;
+
     private static final Map<Rank, Map<Role, Benchmark>> BENCHMARKS = new HashMap<>();
 
+    // The same benchmarks as [rank][role][stat], with the GOLD / MID defaults already applied
+    private static final double[][][] TABLE;
+
     static {
         // Initialize benchmarks for each rank and role
         initializeGoldBenchmarks();
         initializeSilverBenchmarks();
         initializePlatinumBenchmarks();
         // Add more ranks as needed
+
+        TABLE = new double[Rank.values().length][Role.values().length][];
+        for (Rank rank : Rank.values()) {
+            for (Role role : Role.values()) {
+                Benchmark benchmark = getBenchmark(rank, role);
+                double[] row = new double[STAT_COUNT];
+                row[STAT_DAMAGE] = benchmark.damagePerMin;
+                row[STAT_DAMAGE_TAKEN] = AVG_DAMAGE_TAKEN_PER_MIN;
+                row[STAT_FARM] = benchmark.csPerMin;
+                row[STAT_GOLD] = benchmark.goldPerMin;
+                row[STAT_VISION] = benchmark.wardsPerMin;
+                row[STAT_KDA] = benchmark.kda;
+                TABLE[rank.ordinal()][role.ordinal()] = row;
+            }
+        }
     }
 
     private static void initializeGoldBenchmarks() {
@@ -135,6 +165,20 @@ public class PerformanceBenchmarks {
         return benchmark;
     }
 
+    /**
+     * Score one participant's radar values in place: (actual / benchmark) * 100, so 100 = at
+     * benchmark, 200 = 2x benchmark. No cap - exceptional stats overflow. The values are
+     * {@code values[offset + STAT_*]}; stats whose benchmark is zero are left as they are.
+     */
+    public static void normalize(Rank rank, Role role, double[] values, int offset) {
+        double[] benchmark = TABLE[rank.ordinal()][role.ordinal()];
+        for (int stat = 0; stat < STAT_COUNT; stat++) {
+            if (benchmark[stat] > 0) {
+                values[offset + stat] = values[offset + stat] / benchmark[stat] * 100;
+            }
+        }
+    }
+
     /**
      * Detect role from position string (Riot API format: teamPosition or individualPosition)
      * Supports: TOP, JUNGLE, MIDDLE, BOTTOM, UTILITY
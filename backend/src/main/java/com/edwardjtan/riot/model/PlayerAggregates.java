@@ -0,0 +1,149 @@
+package com.edwardjtan.riot.model;
+
+import java.util.Map;
+
+/**
+ * A player's averages over every match this server has seen them in, overall and split by
+ * champion and by role, plus percentiles of their per-game KDA, CS/min and gold/min.
+ */
+public class PlayerAggregates {
+
+  private String puuid;
+  private StatLine overall;
+  // stat -> {"p50": ..., "p90": ...}
+  private Map<String, Map<String, Double>> percentiles;
+  private Map<String, StatLine> byChampion;
+  private Map<String, StatLine> byRole;
+
+  public PlayerAggregates() {}
+
+  public String getPuuid() {
+    return puuid;
+  }
+
+  public void setPuuid(String puuid) {
+    this.puuid = puuid;
+  }
+
+  public StatLine getOverall() {
+    return overall;
+  }
+
+  public void setOverall(StatLine overall) {
+    this.overall = overall;
+  }
+
+  public Map<String, Map<String, Double>> getPercentiles() {
+    return percentiles;
+  }
+
+  public void setPercentiles(Map<String, Map<String, Double>> percentiles) {
+    this.percentiles = percentiles;
+  }
+
+  public Map<String, StatLine> getByChampion() {
+    return byChampion;
+  }
+
+  public void setByChampion(Map<String, StatLine> byChampion) {
+    this.byChampion = byChampion;
+  }
+
+  public Map<String, StatLine> getByRole() {
+    return byRole;
+  }
+
+  public void setByRole(Map<String, StatLine> byRole) {
+    this.byRole = byRole;
+  }
+
+  /**
+   * Averages over a set of games. KDA is (kills + assists) / deaths over the totals, with
+   * deaths counted as at least 1.
+   */
+  public static class StatLine {
+    private long games;
+    private long wins;
+    private double winRate;
+    private double kills;
+    private double deaths;
+    private double assists;
+    private double kda;
+    private double csPerMin;
+    private double goldPerMin;
+
+    public StatLine() {}
+
+    public long getGames() {
+      return games;
+    }
+
+    public void setGames(long games) {
+      this.games = games;
+    }
+
+    public long getWins() {
+      return wins;
+    }
+
+    public void setWins(long wins) {
+      this.wins = wins;
+    }
+
+    public double getWinRate() {
+      return winRate;
+    }
+
+    public void setWinRate(double winRate) {
+      this.winRate = winRate;
+    }
+
+    public double getKills() {
+      return kills;
+    }
+
+    public void setKills(double kills) {
+      this.kills = kills;
+    }
+
+    public double getDeaths() {
+      return deaths;
+    }
+
+    public void setDeaths(double deaths) {
+      this.deaths = deaths;
+    }
+
+    public double getAssists() {
+      return assists;
+    }
+
+    public void setAssists(double assists) {
+      this.assists = assists;
+    }
+
+    public double getKda() {
+      return kda;
+    }
+
+    public void setKda(double kda) {
+      this.kda = kda;
+    }
+
+    public double getCsPerMin() {
+      return csPerMin;
+    }
+
+    public void setCsPerMin(double csPerMin) {
+      this.csPerMin = csPerMin;
+    }
+
+    public double getGoldPerMin() {
+      return goldPerMin;
+    }
+
+    public void setGoldPerMin(double goldPerMin) {
+      this.goldPerMin = goldPerMin;
+    }
+  }
+}
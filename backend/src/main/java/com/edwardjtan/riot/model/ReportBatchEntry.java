@@ -0,0 +1,70 @@
+package com.edwardjtan.riot.model;
+
+/**
+ * One (match, player) report in a batch job; also the request item when submitting a batch.
+ */
+public class ReportBatchEntry {
+    private String matchId;
+    private String puuid;
+
+    // queued, running, done or failed
+    private String status;
+    private String report;
+    private String error;
+    private long durationMillis;
+
+    public ReportBatchEntry() {}
+
+    public ReportBatchEntry(String matchId, String puuid) {
+        this.matchId = matchId;
+        this.puuid = puuid;
+    }
+
+    public String getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(String matchId) {
+        this.matchId = matchId;
+    }
+
+    public String getPuuid() {
+        return puuid;
+    }
+
+    public void setPuuid(String puuid) {
+        this.puuid = puuid;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public void setReport(String report) {
+        this.report = report;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
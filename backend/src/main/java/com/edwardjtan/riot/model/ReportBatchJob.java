@@ -0,0 +1,76 @@
+package com.edwardjtan.riot.model;
+
+import java.util.List;
+
+/**
+ * Snapshot of a batch report job for polling.
+ */
+public class ReportBatchJob {
+    private String jobId;
+
+    // queued, running or done (done once every entry is done or failed)
+    private String status;
+    private int total;
+    private int completed;
+    private int failed;
+    private String createdAt;
+    private List<ReportBatchEntry> entries;
+
+    public ReportBatchJob() {}
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int completed) {
+        this.completed = completed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public List<ReportBatchEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<ReportBatchEntry> entries) {
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,76 @@
+package com.edwardjtan.riot.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Where one report request spent its time: each step (PUUID lookup, match fetch, analysis, LLM
+ * call) is recorded as it runs, and the breakdown is returned to the client as a
+ * {@code Server-Timing} header, e.g.
+ * {@code account;desc="PUUID lookup";dur=41.2, match;desc="Latest match";dur=310.5, ..., total;dur=2890.0}
+ *
+ * Created per request by the controller and handed to the service, which may run the steps on
+ * another thread; the controller reads the result after the service's future completes.
+ */
+public class RequestTimings {
+
+  public static final String HEADER = "Server-Timing";
+
+  private final long startNanos = System.nanoTime();
+  private final List<Step> steps = new ArrayList<>();
+
+  private record Step(String name, String description, long nanos) {}
+
+  /**
+   * Run a step and record how long it took, whether or not it succeeds.
+   *
+   * @param name a Server-Timing metric name (a token: letters, digits, '-' or '_')
+   */
+  public <T> T time(String name, String description, Supplier<T> step) {
+    long start = System.nanoTime();
+    try {
+      return step.get();
+    } finally {
+      record(name, description, System.nanoTime() - start);
+    }
+  }
+
+  public synchronized void record(String name, String description, long nanos) {
+    steps.add(new Step(name, description, nanos));
+  }
+
+  /**
+   * The Server-Timing header value: every recorded step, then the time since this was created.
+   */
+  public synchronized String toServerTiming() {
+    StringBuilder header = new StringBuilder();
+    for (Step step : steps) {
+      header.append(step.name());
+      if (step.description() != null) {
+        header.append(";desc=\"").append(step.description()).append('"');
+      }
+      header.append(";dur=").append(millis(step.nanos())).append(", ");
+    }
+    return header.append("total;dur=").append(millis(System.nanoTime() - startNanos)).toString();
+  }
+
+  /**
+   * Milliseconds per step plus the total, for the debug response body.
+   */
+  public synchronized Map<String, Double> toMap() {
+    Map<String, Double> result = new LinkedHashMap<>();
+    for (Step step : steps) {
+      result.merge(step.name(), millis(step.nanos()), Double::sum);
+    }
+    result.put("total", millis(System.nanoTime() - startNanos));
+    return result;
+  }
+
+  // Rounded to 0.1 ms
+  private static double millis(long nanos) {
+    return Math.round(nanos / 100_000.0) / 10.0;
+  }
+}
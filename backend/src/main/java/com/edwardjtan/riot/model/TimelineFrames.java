@@ -0,0 +1,141 @@
+package com.edwardjtan.riot.model;
+
+/**
+ * The per-minute participant frames of a timeline as primitive columns: total gold, XP, CS
+ * (lane and jungle minions) and map position for every participant at every frame.
+ *
+ * Each column is one int array laid out participant by participant, so a player's whole game is a
+ * contiguous run and a scan over it neither boxes nor chases pointers. Ten players over a 30
+ * minute game is about 6 KB, where one object per participant frame (with its position, champion
+ * and damage stats) is well over 100 KB. Participants are numbered 1-10 as in the timeline;
+ * minutes past the last frame read the last frame.
+ */
+public class TimelineFrames {
+
+  public enum Stat { GOLD, XP, CS }
+
+  private final int participants;
+  private final int frameCount;
+  private final long frameInterval;
+
+  // [(participantId - 1) * frameCount + frame]
+  private final int[] gold;
+  private final int[] xp;
+  private final int[] cs;
+  private final int[] x;
+  private final int[] y;
+
+  public TimelineFrames(int participants, int frameCount, long frameInterval,
+                        int[] gold, int[] xp, int[] cs, int[] x, int[] y) {
+    this.participants = participants;
+    this.frameCount = frameCount;
+    this.frameInterval = frameInterval;
+    this.gold = gold;
+    this.xp = xp;
+    this.cs = cs;
+    this.x = x;
+    this.y = y;
+  }
+
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  public long getFrameInterval() {
+    return frameInterval;
+  }
+
+  /**
+   * Whether the game lasted until the given minute.
+   */
+  public boolean covers(int minute) {
+    return frameCount > 0 && minute * 60_000L / frameInterval < frameCount;
+  }
+
+  /**
+   * The value of a stat for a participant at a minute.
+   */
+  public int get(Stat stat, int participantId, int minute) {
+    return column(stat)[index(participantId, frame(minute))];
+  }
+
+  /**
+   * How far ahead {@code participantId} is of {@code otherId} (negative when behind) at a minute,
+   * e.g. the gold difference to the lane opponent at 15.
+   */
+  public int diff(Stat stat, int participantId, int otherId, int minute) {
+    int[] column = column(stat);
+    int frame = frame(minute);
+    return column[index(participantId, frame)] - column[index(otherId, frame)];
+  }
+
+  /**
+   * The largest lead {@code participantId} had over {@code otherId} at any frame (negative if
+   * they were behind the whole game).
+   */
+  public int maxLead(Stat stat, int participantId, int otherId) {
+    int[] column = column(stat);
+    int a = index(participantId, 0);
+    int b = index(otherId, 0);
+    int best = Integer.MIN_VALUE;
+    for (int frame = 0; frame < frameCount; frame++) {
+      best = Math.max(best, column[a + frame] - column[b + frame]);
+    }
+    return frameCount == 0 ? 0 : best;
+  }
+
+  /**
+   * The first minute at which {@code participantId} was at least {@code lead} ahead of
+   * {@code otherId}, or -1 if they never were.
+   */
+  public int minuteLeadReached(Stat stat, int participantId, int otherId, int lead) {
+    int[] column = column(stat);
+    int a = index(participantId, 0);
+    int b = index(otherId, 0);
+    for (int frame = 0; frame < frameCount; frame++) {
+      if (column[a + frame] - column[b + frame] >= lead) {
+        return (int) (frame * frameInterval / 60_000);
+      }
+    }
+    return -1;
+  }
+
+  public int getX(int participantId, int minute) {
+    return x[index(participantId, frame(minute))];
+  }
+
+  public int getY(int participantId, int minute) {
+    return y[index(participantId, frame(minute))];
+  }
+
+  /**
+   * Heap size of the columns, for cache weighing.
+   */
+  public long estimatedBytes() {
+    // Five int arrays with 16 byte headers, plus this object
+    return 5 * (16 + 4L * participants * frameCount) + 48;
+  }
+
+  private int frame(int minute) {
+    if (frameCount == 0) {
+      throw new IllegalStateException("Timeline has no frames");
+    }
+    long frame = Math.max(0, minute) * 60_000L / frameInterval;
+    return (int) Math.min(frame, frameCount - 1);
+  }
+
+  private int index(int participantId, int frame) {
+    if (participantId < 1 || participantId > participants) {
+      throw new IllegalArgumentException("No participant " + participantId);
+    }
+    return (participantId - 1) * frameCount + frame;
+  }
+
+  private int[] column(Stat stat) {
+    return switch (stat) {
+      case GOLD -> gold;
+      case XP -> xp;
+      case CS -> cs;
+    };
+  }
+}
@@ -1,116 +1,162 @@
 package com.edwardjtan.riot.service;
 
 import com.edwardjtan.riot.model.APIComparisonResult;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.file.Paths;
-import java.util.ArrayList;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Service
 public class APIComparisonService {
 
-    private static final String PYTHON_SCRIPT = "src/main/python/api_comparison.py";
-    private static final String PYTHON_VENV = "src/main/python/venv/bin/python3";
+    private static final Logger log = LoggerFactory.getLogger(APIComparisonService.class);
+
+    private static final String ANTHROPIC = "Anthropic";
+    private static final String OPENAI = "OpenAI";
+
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PythonWorkerPool workerPool;
+    private final Duration providerTimeout;
+
+    // onResult callbacks may block (an SSE write to a slow client), so they run here rather than on
+    // the worker's stdout reader or the timeout scheduler that completed the provider call
+    private final ExecutorService callbackExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public APIComparisonService(PythonWorkerPool workerPool,
+                                @Value("${comparison.provider.timeout:90s}") Duration providerTimeout) {
+        this.workerPool = workerPool;
+        this.providerTimeout = providerTimeout;
+    }
+
+    @PreDestroy
+    void shutdownCallbacks() {
+        callbackExecutor.shutdownNow();
+    }
+
+    @Async
+    public CompletableFuture<List<APIComparisonResult>> compareProvidersAsync(String prompt, String anthropicModel, String openaiModel) {
+        return CompletableFuture.completedFuture(compareProviders(prompt, anthropicModel, openaiModel));
+    }
+
+    @Async
+    public CompletableFuture<APIComparisonResult> testAnthropicAsync(String prompt, String model) {
+        return CompletableFuture.completedFuture(testAnthropic(prompt, model));
+    }
+
+    @Async
+    public CompletableFuture<APIComparisonResult> testOpenAIAsync(String prompt, String model) {
+        return CompletableFuture.completedFuture(testOpenAI(prompt, model));
+    }
 
     /**
      * Compare multiple API providers with the same prompt
      */
     public List<APIComparisonResult> compareProviders(String prompt, String anthropicModel, String openaiModel) {
         try {
-            List<String> command = new ArrayList<>();
-            // Use virtual environment Python if it exists, otherwise fall back to system python3
-            String pythonExecutable = new java.io.File(PYTHON_VENV).exists() ? PYTHON_VENV : "python3";
-            command.add(pythonExecutable);
-            command.add(PYTHON_SCRIPT);
-            command.add("compare");
-            command.add("--prompt");
-            command.add(prompt);
-
-            if (anthropicModel != null && !anthropicModel.isEmpty()) {
-                command.add("--anthropic-model");
-                command.add(anthropicModel);
-            }
-
-            if (openaiModel != null && !openaiModel.isEmpty()) {
-                command.add("--openai-model");
-                command.add(openaiModel);
-            }
-
-            ProcessBuilder processBuilder = new ProcessBuilder(command);
-            processBuilder.redirectErrorStream(true);
-
-            Process process = processBuilder.start();
-
-            StringBuilder output = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line);
-                }
-            }
-
-            int exitCode = process.waitFor();
-
-            if (exitCode != 0) {
-                throw new RuntimeException("Python script failed with exit code: " + exitCode +
-                                         "\nOutput: " + output.toString());
-            }
-
-            // Parse JSON output
-            return objectMapper.readValue(output.toString(),
-                                        new TypeReference<List<APIComparisonResult>>() {});
-
+            return compareProvidersConcurrently(prompt, anthropicModel, openaiModel, result -> {}).join();
         } catch (Exception e) {
             throw new RuntimeException("Failed to execute API comparison: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Test Anthropic API only
+     * Send the prompt to every configured provider at once, each with its own deadline.
+     *
+     * onResult is called with each provider's result as soon as it arrives. A provider that fails
+     * or misses its deadline yields an unsuccessful result rather than failing the comparison, so
+     * the returned future (results in provider order) completes within the provider timeout, and
+     * only after every onResult call has returned.
      */
-    public APIComparisonResult testAnthropic(String prompt, String model) {
-        try {
-            List<String> command = new ArrayList<>();
-            // Use virtual environment Python if it exists, otherwise fall back to system python3
-            String pythonExecutable = new java.io.File(PYTHON_VENV).exists() ? PYTHON_VENV : "python3";
-            command.add(pythonExecutable);
-            command.add(PYTHON_SCRIPT);
-            command.add("anthropic-test");
-            command.add("--prompt");
-            command.add(prompt);
-
-            if (model != null && !model.isEmpty()) {
-                command.add("--model");
-                command.add(model);
-            }
-
-            ProcessBuilder processBuilder = new ProcessBuilder(command);
-            processBuilder.redirectErrorStream(true);
-
-            Process process = processBuilder.start();
-
-            StringBuilder output = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line);
+    public CompletableFuture<List<APIComparisonResult>> compareProvidersConcurrently(String prompt,
+                                                                                    String anthropicModel,
+                                                                                    String openaiModel,
+                                                                                    Consumer<APIComparisonResult> onResult) {
+        // The callback is part of each joined future, so the last result is delivered before the
+        // caller sees the comparison finish (and, when streaming, closes the stream)
+        List<CompletableFuture<APIComparisonResult>> calls = List.of(
+            callProvider("anthropic", ANTHROPIC, prompt, anthropicModel),
+            callProvider("openai", OPENAI, prompt, openaiModel)
+        ).stream()
+            .map(call -> call.thenApplyAsync(result -> {
+                if (result != null) {
+                    try {
+                        onResult.accept(result);
+                    } catch (RuntimeException e) {
+                        // A listener that went away must not fail the comparison itself
+                        log.warn("Comparison result listener failed: {}", e.toString());
+                    }
                 }
-            }
+                return result;
+            }, callbackExecutor))
+            .toList();
+        return CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new))
+            .thenApply(done -> calls.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .toList());
+    }
 
-            int exitCode = process.waitFor();
+    /**
+     * One provider call; completes with null when the provider has no API key configured.
+     */
+    private CompletableFuture<APIComparisonResult> callProvider(String op, String provider, String prompt, String model) {
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("prompt", prompt);
+        arguments.put("model", model);
+        arguments.put("ifConfigured", true);
+
+        long start = System.nanoTime();
+        return workerPool.submit(op, arguments, providerTimeout)
+            .thenApply(result -> result == null || result.isNull()
+                ? null
+                : objectMapper.convertValue(result, APIComparisonResult.class))
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                String error = cause instanceof TimeoutException
+                    ? "No response within " + providerTimeout.toSeconds() + "s"
+                    : cause.getMessage();
+                log.warn("{} comparison call failed: {}", provider, error);
+                return failedResult(provider, model, error, (System.nanoTime() - start) / 1e9);
+            });
+    }
 
-            if (exitCode != 0) {
-                throw new RuntimeException("Python script failed with exit code: " + exitCode +
-                                         "\nOutput: " + output.toString());
-            }
+    private static APIComparisonResult failedResult(String provider, String model, String error, double responseTime) {
+        APIComparisonResult result = new APIComparisonResult();
+        result.setProvider(provider);
+        result.setModel(model);
+        result.setSuccess(false);
+        result.setError(error);
+        result.setResponseTime(responseTime);
+        result.setTimestamp(LocalDateTime.now().toString());
+        return result;
+    }
 
-            return objectMapper.readValue(output.toString(), APIComparisonResult.class);
+    /**
+     * Test Anthropic API only
+     */
+    public APIComparisonResult testAnthropic(String prompt, String model) {
+        try {
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("prompt", prompt);
+            arguments.put("model", model);
+
+            return objectMapper.convertValue(workerPool.call("anthropic", arguments), APIComparisonResult.class);
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to test Anthropic API: " + e.getMessage(), e);
@@ -122,41 +168,11 @@ public class APIComparisonService {
      */
     public APIComparisonResult testOpenAI(String prompt, String model) {
         try {
-            List<String> command = new ArrayList<>();
-            // Use virtual environment Python if it exists, otherwise fall back to system python3
-            String pythonExecutable = new java.io.File(PYTHON_VENV).exists() ? PYTHON_VENV : "python3";
-            command.add(pythonExecutable);
-            command.add(PYTHON_SCRIPT);
-            command.add("openai-test");
-            command.add("--prompt");
-            command.add(prompt);
-
-            if (model != null && !model.isEmpty()) {
-                command.add("--model");
-                command.add(model);
-            }
-
-            ProcessBuilder processBuilder = new ProcessBuilder(command);
-            processBuilder.redirectErrorStream(true);
-
-            Process process = processBuilder.start();
-
-            StringBuilder output = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line);
-                }
-            }
-
-            int exitCode = process.waitFor();
-
-            if (exitCode != 0) {
-                throw new RuntimeException("Python script failed with exit code: " + exitCode +
-                                         "\nOutput: " + output.toString());
-            }
+            Map<String, Object> arguments = new HashMap<>();
+            arguments.put("prompt", prompt);
+            arguments.put("model", model);
 
-            return objectMapper.readValue(output.toString(), APIComparisonResult.class);
+            return objectMapper.convertValue(workerPool.call("openai", arguments), APIComparisonResult.class);
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to test OpenAI API: " + e.getMessage(), e);
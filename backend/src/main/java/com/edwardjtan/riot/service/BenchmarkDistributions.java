@@ -0,0 +1,144 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.PerformanceBenchmarks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-role distributions of the radar chart stats, built from every match the service has stored.
+ *
+ * Each role keeps a quantile sketch per stat (damage, damage taken, CS, gold and wards per minute,
+ * plus KDA). Matches are folded in as they are stored, so the match store's index is what keeps a
+ * match from being counted twice; the caller folds each match once. Lookups read an
+ * immutable CDF snapshot, so scoring a radar stat is a log and an array read; the snapshot is
+ * rebuilt on lookup once new samples have arrived and {@code radar.benchmarks.refresh-interval}
+ * has passed. A role is only used once it has {@code radar.benchmarks.min-samples} samples.
+ */
+@Component
+public class BenchmarkDistributions {
+
+  private static final double SKETCH_ACCURACY = 0.01;
+  // Indexed by PerformanceBenchmarks.STAT_*
+  private static final String[] STATS = {"damage", "damageTaken", "farm", "gold", "vision", "kda"};
+
+  private final long minSamples;
+  private final long refreshNanos;
+  private final Map<PerformanceBenchmarks.Role, RoleDistribution> roles = new EnumMap<>(PerformanceBenchmarks.Role.class);
+  private final LongAdder matches = new LongAdder();
+
+  public BenchmarkDistributions(@Value("${radar.benchmarks.min-samples:200}") long minSamples,
+                                @Value("${radar.benchmarks.refresh-interval:1s}") Duration refreshInterval) {
+    this.minSamples = minSamples;
+    this.refreshNanos = refreshInterval.toNanos();
+    for (PerformanceBenchmarks.Role role : PerformanceBenchmarks.Role.values()) {
+      roles.put(role, new RoleDistribution());
+    }
+  }
+
+  /**
+   * Count a match whose participants have been recorded.
+   */
+  public void countMatch() {
+    matches.increment();
+  }
+
+  /**
+   * Add one participant's raw (per-minute, not yet normalized) radar values,
+   * {@code values[offset + PerformanceBenchmarks.STAT_*]}.
+   */
+  public void record(PerformanceBenchmarks.Role role, double[] values, int offset) {
+    roles.get(role).add(values, offset);
+  }
+
+  /**
+   * Replace raw radar values in place with percentile scores against the role's distribution:
+   * 200 times the value's rank, so the median scores 100 like the old "at benchmark" value.
+   * Returns false, and leaves the values untouched, when the role has too few samples yet.
+   */
+  public boolean normalize(PerformanceBenchmarks.Role role, double[] values, int offset) {
+    Snapshot snapshot = roles.get(role).snapshot(refreshNanos);
+    if (snapshot.samples < minSamples) {
+      return false;
+    }
+    for (int stat = 0; stat < PerformanceBenchmarks.STAT_COUNT; stat++) {
+      values[offset + stat] = 200 * snapshot.cdfs[stat].rank(values[offset + stat]);
+    }
+    return true;
+  }
+
+  public Map<String, Object> describe() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("matches", matches.sum());
+    result.put("minSamples", minSamples);
+    Map<String, Object> perRole = new LinkedHashMap<>();
+    roles.forEach((role, distribution) -> perRole.put(role.name(), distribution.describe()));
+    result.put("roles", perRole);
+    return result;
+  }
+
+  private record Snapshot(long samples, QuantileSketch.Cdf[] cdfs, long builtAt) {}
+
+  private static final class RoleDistribution {
+    private final QuantileSketch[] sketches = new QuantileSketch[STATS.length];
+    private long samples;
+    // Set by writers under the lock, read without it so clean lookups never lock
+    private volatile boolean dirty;
+    private volatile Snapshot snapshot;
+
+    RoleDistribution() {
+      for (int i = 0; i < sketches.length; i++) {
+        sketches[i] = new QuantileSketch(SKETCH_ACCURACY);
+      }
+      snapshot = build(System.nanoTime());
+    }
+
+    synchronized void add(double[] values, int offset) {
+      for (int i = 0; i < sketches.length; i++) {
+        sketches[i].add(values[offset + i]);
+      }
+      samples++;
+      dirty = true;
+    }
+
+    Snapshot snapshot(long refreshNanos) {
+      Snapshot current = snapshot;
+      long now = System.nanoTime();
+      if (!dirty || now - current.builtAt < refreshNanos) {
+        return current;
+      }
+      synchronized (this) {
+        if (dirty && snapshot == current) {
+          snapshot = build(now);
+          dirty = false;
+        }
+        return snapshot;
+      }
+    }
+
+    synchronized Map<String, Object> describe() {
+      Map<String, Object> result = new LinkedHashMap<>();
+      result.put("samples", samples);
+      Map<String, Double> medians = new LinkedHashMap<>();
+      for (int i = 0; i < STATS.length; i++) {
+        medians.put(STATS[i], samples == 0 ? null : sketches[i].quantile(0.5));
+      }
+      result.put("p50", medians);
+      return result;
+    }
+
+    // Caller holds the lock (or is the constructor)
+    private Snapshot build(long now) {
+      QuantileSketch.Cdf[] cdfs = new QuantileSketch.Cdf[sketches.length];
+      for (int i = 0; i < sketches.length; i++) {
+        cdfs[i] = sketches[i].cdf();
+      }
+      return new Snapshot(samples, cdfs, now);
+    }
+  }
+}
@@ -3,57 +3,89 @@ package com.edwardjtan.riot.service;
 import com.edwardjtan.riot.model.GameAnalysis;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 public class ClaudeService {
 
   private static final Logger log = LoggerFactory.getLogger(ClaudeService.class);
-  private final RestTemplate restTemplate = new RestTemplate();
+  private static final String MODEL = "claude-sonnet-4-20250514";
+  private static final int MAX_TOKENS = 2048;
+
+  private final RestTemplate restTemplate;
+  private final ReportCache reportCache;
+  private final MeterRegistry meterRegistry;
   private final ObjectMapper objectMapper = new ObjectMapper();
+  private final SingleFlight<String, String> reportGenerations = new SingleFlight<>();
 
   @Value("${anthropic.api.key}")
   private String apiKey;
 
+  @Value("${anthropic.api.base-url:https://api.anthropic.com}")
+  private String baseUrl;
+
+  public ClaudeService(@Qualifier("anthropicRestTemplate") RestTemplate restTemplate, ReportCache reportCache,
+                       MeterRegistry meterRegistry) {
+    this.restTemplate = restTemplate;
+    this.reportCache = reportCache;
+    this.meterRegistry = meterRegistry;
+  }
+
   public String generateGameReport(GameAnalysis analysis) {
     try {
       log.info("Generating game report for match {}", analysis.getMatchId());
 
       String prompt = buildPrompt(analysis);
+      String cacheKey = ReportCache.key(MODEL, MAX_TOKENS, prompt);
+      String cached = reportCache.get(cacheKey);
+      if (cached != null) {
+        log.info("Serving cached game report for match {}", analysis.getMatchId());
+        return cached;
+      }
 
-      // Build request body
-      Map<String, Object> requestBody = new HashMap<>();
-      requestBody.put("model", "claude-sonnet-4-20250514");
-      requestBody.put("max_tokens", 2048);
-      requestBody.put("messages", List.of(
-        Map.of("role", "user", "content", prompt)
-      ));
-
-      // Set headers
-      HttpHeaders headers = new HttpHeaders();
-      headers.setContentType(MediaType.APPLICATION_JSON);
-      headers.set("x-api-key", apiKey);
-      headers.set("anthropic-version", "2023-06-01");
+      // Concurrent requests for the same report share one Claude call
+      return reportGenerations.execute(cacheKey, () -> requestReport(prompt, cacheKey));
+    } catch (Exception e) {
+      log.error("Error generating game report", e);
+      throw new RuntimeException("Failed to generate game report", e);
+    }
+  }
 
-      HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+  private String requestReport(String prompt, String cacheKey) {
+    try {
+      HttpEntity<Map<String, Object>> request = new HttpEntity<>(buildRequestBody(prompt, false), buildHeaders());
 
       // Make API call
-      String response = restTemplate.postForObject(
-        "https://api.anthropic.com/v1/messages",
-        request,
-        String.class
-      );
+      Timer.Sample sample = Timer.start(meterRegistry);
+      String outcome = "error";
+      String response;
+      try {
+        response = restTemplate.postForObject(baseUrl + "/v1/messages", request, String.class);
+        outcome = "success";
+      } finally {
+        sample.stop(meterRegistry.timer("anthropic.requests", "operation", "messages", "outcome", outcome));
+      }
 
       // Parse response
       JsonNode responseJson = objectMapper.readTree(response);
@@ -62,18 +94,127 @@ public class ClaudeService {
       if (content != null && content.isArray() && content.size() > 0) {
         String text = content.get(0).get("text").asText();
         log.info("Successfully generated game report");
+        reportCache.put(cacheKey, text);
         return text;
       }
 
       log.warn("No content in Claude response");
       return "Unable to generate report";
+    } catch (IOException e) {
+      throw new RuntimeException("Unreadable Claude response", e);
+    }
+  }
+
+  /**
+   * Generate the report with {@code stream: true}, handing each text delta to {@code onText} as
+   * soon as it arrives. Returns the complete report once the stream ends.
+   */
+  public String streamGameReport(GameAnalysis analysis, Consumer<String> onText) {
+    try {
+      log.info("Streaming game report for match {}", analysis.getMatchId());
+
+      String prompt = buildPrompt(analysis);
+      String cacheKey = ReportCache.key(MODEL, MAX_TOKENS, prompt);
+      String cached = reportCache.get(cacheKey);
+      if (cached != null) {
+        log.info("Serving cached game report for match {}", analysis.getMatchId());
+        onText.accept(cached);
+        return cached;
+      }
+
+      HttpHeaders headers = buildHeaders();
+      headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+      // A compressed stream would hold deltas back until a whole deflate block is available
+      headers.set(HttpHeaders.ACCEPT_ENCODING, "identity");
+      HttpEntity<Map<String, Object>> request = new HttpEntity<>(buildRequestBody(prompt, true), headers);
+
+      // Timed until the stream ends, since that is how long the caller waits for the report
+      Timer.Sample sample = Timer.start(meterRegistry);
+      String outcome = "error";
+      String report;
+      try {
+        report = restTemplate.execute(
+          baseUrl + "/v1/messages",
+          HttpMethod.POST,
+          restTemplate.httpEntityCallback(request),
+          response -> readEventStream(response.getBody(), onText)
+        );
+        outcome = "success";
+      } finally {
+        sample.stop(meterRegistry.timer("anthropic.requests", "operation", "messages-stream", "outcome", outcome));
+      }
+      log.info("Finished streaming game report ({} chars)", report != null ? report.length() : 0);
+      // readEventStream only returns once message_stop has arrived, so a stream cut short never
+      // reaches the cache (or the disk behind it)
+      if (report != null && !report.isEmpty()) {
+        reportCache.put(cacheKey, report);
+      }
+      return report;
     } catch (Exception e) {
-      log.error("Error generating game report", e);
-      throw new RuntimeException("Failed to generate game report", e);
+      log.error("Error streaming game report", e);
+      throw new RuntimeException("Failed to stream game report", e);
     }
   }
 
-  private String buildPrompt(GameAnalysis analysis) {
+  /**
+   * Read a Messages API event stream, forwarding text deltas until message_stop, and fail if the
+   * stream ends without one. Each event's JSON carries its own type, so the "event:" lines are not
+   * needed.
+   */
+  private String readEventStream(InputStream body, Consumer<String> onText) throws IOException {
+    StringBuilder report = new StringBuilder();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (!line.startsWith("data:")) {
+        continue;
+      }
+      JsonNode event = objectMapper.readTree(line.substring(5).trim());
+      switch (event.path("type").asText()) {
+        case "content_block_delta" -> {
+          JsonNode delta = event.path("delta");
+          if ("text_delta".equals(delta.path("type").asText())) {
+            String text = delta.path("text").asText();
+            report.append(text);
+            onText.accept(text);
+          }
+        }
+        case "error" -> throw new IOException("Anthropic stream error: " + event.path("error").path("message").asText());
+        case "message_stop" -> {
+          return report.toString();
+        }
+        default -> {
+          // message_start, content_block_start/stop, message_delta, ping
+        }
+      }
+    }
+    // A dropped connection or a proxy cutting the response short ends the body early; what was
+    // read so far is not the whole report
+    throw new IOException("Anthropic stream ended before message_stop");
+  }
+
+  private Map<String, Object> buildRequestBody(String prompt, boolean stream) {
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put("model", MODEL);
+    requestBody.put("max_tokens", MAX_TOKENS);
+    requestBody.put("messages", List.of(
+      Map.of("role", "user", "content", prompt)
+    ));
+    if (stream) {
+      requestBody.put("stream", true);
+    }
+    return requestBody;
+  }
+
+  private HttpHeaders buildHeaders() {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.set("x-api-key", apiKey);
+    headers.set("anthropic-version", "2023-06-01");
+    return headers;
+  }
+
+  String buildPrompt(GameAnalysis analysis) {
     StringBuilder prompt = new StringBuilder();
     prompt.append("You are a professional League of Legends analyst. Generate a detailed game report based on the following match data:\n\n");
     prompt.append("Match ID: ").append(analysis.getMatchId()).append("\n");
@@ -3,6 +3,8 @@ package com.edwardjtan.riot.service;
 import com.edwardjtan.riot.model.GameAnalysis;
 import com.edwardjtan.riot.model.GameEvent;
 import com.edwardjtan.riot.model.MatchData;
+import com.edwardjtan.riot.model.MatchTimeline;
+import com.edwardjtan.riot.model.TimelineFrames;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,12 +13,25 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class GameAnalysisService {
 
   private static final Logger log = LoggerFactory.getLogger(GameAnalysisService.class);
 
+  // Trinkets; item IDs below 3000 are starter items, basic components and consumables. Mid-tier
+  // components (e.g. Phage, Sheen) are 3000 and up, so ITEM events are purchases, not completed items
+  private static final Set<Integer> MINOR_ITEMS = Set.of(3340, 3363, 3364);
+
+  private final TimelineService timelineService;
+  private final MatchService matchService;
+
+  public GameAnalysisService(TimelineService timelineService, MatchService matchService) {
+    this.timelineService = timelineService;
+    this.matchService = matchService;
+  }
+
   public GameAnalysis analyzeMatch(MatchData matchData, String puuid) {
     try {
       log.info("Analyzing match {} for PUUID {}", matchData.getMetadata().getMatchId(), puuid);
@@ -30,13 +45,21 @@ public class GameAnalysisService {
 
       log.info("Found player: {}", playerParticipant.getRiotIdGameName());
 
-      List<GameEvent> importantEvents = extractImportantEvents(playerParticipant);
-
       Map<String, Object> stats = new HashMap<>();
       stats.put("goldEarned", playerParticipant.getGoldEarned());
       stats.put("visionScore", playerParticipant.getVisionScore());
       stats.put("totalMinionsKilled", playerParticipant.getTotalMinionsKilled() + playerParticipant.getNeutralMinionsKilled());
 
+      // Real, timestamped events when the timeline is available; end-of-game totals otherwise
+      MatchTimeline timeline = loadTimeline(matchData.getMetadata().getMatchId());
+      List<GameEvent> importantEvents;
+      if (timeline != null && timeline.getParticipantId(puuid) > 0) {
+        importantEvents = extractTimelineEvents(matchData, timeline, puuid);
+        addLaningStats(matchData, timeline, playerParticipant, stats);
+      } else {
+        importantEvents = extractImportantEvents(playerParticipant);
+      }
+
       String playerName = playerParticipant.getRiotIdGameName() != null ?
         playerParticipant.getRiotIdGameName() + "#" + playerParticipant.getRiotIdTagline() :
         playerParticipant.getSummonerName();
@@ -63,6 +86,140 @@ public class GameAnalysisService {
     }
   }
 
+  private MatchTimeline loadTimeline(String matchId) {
+    try {
+      return timelineService.getTimeline(matchId);
+    } catch (Exception e) {
+      log.warn("No timeline for match {}, using end-of-game totals: {}", matchId, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * The player's kills, deaths, assists, multi-kills and item purchases, plus every epic monster
+   * and structure either team took, in game order.
+   */
+  private List<GameEvent> extractTimelineEvents(MatchData matchData, MatchTimeline timeline, String puuid) {
+    int playerId = timeline.getParticipantId(puuid);
+    int participants = timeline.getParticipantCount();
+
+    // Names, champions and teams by timeline participant ID
+    String[] names = new String[participants + 1];
+    String[] champions = new String[participants + 1];
+    int[] teams = new int[participants + 1];
+    List<MatchData.ParticipantDto> matchParticipants = matchData.getInfo().getParticipants();
+    for (int i = 0; i < matchParticipants.size(); i++) {
+      MatchData.ParticipantDto p = matchParticipants.get(i);
+      int id = timeline.getParticipantId(p.getPuuid());
+      if (id > 0) {
+        names[id] = p.getRiotIdGameName() != null ? p.getRiotIdGameName() : p.getSummonerName();
+        champions[id] = p.getChampionName();
+        teams[id] = teamId(i);
+      }
+    }
+    int playerTeam = teams[playerId];
+    String playerName = names[playerId];
+
+    List<GameEvent> events = new ArrayList<>();
+    for (int i = 0; i < timeline.getEventCount(); i++) {
+      long timestamp = timeline.getTimestamp(i);
+      int actor = timeline.getActor(i);
+      int target = timeline.getTarget(i);
+      switch (timeline.getType(i)) {
+        case MatchTimeline.CHAMPION_KILL -> {
+          String killer = actor > 0 && actor <= participants ? champions[actor] : "minions or a turret";
+          String victim = target > 0 && target <= participants ? champions[target] : "an enemy";
+          if (actor == playerId) {
+            events.add(new GameEvent("KILL", timestamp, "Killed " + victim, playerName));
+          } else if (target == playerId) {
+            events.add(new GameEvent("DEATH", timestamp, "Killed by " + killer, playerName));
+          } else if (timeline.isAssist(i, playerId)) {
+            events.add(new GameEvent("ASSIST", timestamp, "Assisted " + killer + " in killing " + victim, playerName));
+          }
+        }
+        case MatchTimeline.MULTI_KILL -> {
+          if (actor == playerId) {
+            events.add(new GameEvent("SPECIAL", timestamp, multiKillName(timeline.getDetail(i)), playerName));
+          }
+        }
+        case MatchTimeline.FIRST_BLOOD -> {
+          if (actor == playerId) {
+            events.add(new GameEvent("SPECIAL", timestamp, "First blood", playerName));
+          }
+        }
+        case MatchTimeline.ELITE_MONSTER_KILL -> {
+          String side = target == playerTeam ? "Ally team" : "Enemy team";
+          String by = actor > 0 && actor <= participants ? names[actor] : side;
+          events.add(new GameEvent("OBJECTIVE", timestamp,
+            side + " took " + MatchTimeline.MONSTERS[timeline.getDetail(i)], by));
+        }
+        case MatchTimeline.BUILDING_KILL -> {
+          // target is the team that lost the structure
+          String building = MatchTimeline.buildingName(timeline.getDetail(i));
+          String description = target == playerTeam ? "Lost ally " + building : "Destroyed enemy " + building;
+          String by = actor > 0 && actor <= participants ? names[actor] : "Minions";
+          events.add(new GameEvent("OBJECTIVE", timestamp, description, by));
+        }
+        case MatchTimeline.ITEM_PURCHASED -> {
+          int itemId = timeline.getDetail(i);
+          if (actor == playerId && itemId >= 3000 && !MINOR_ITEMS.contains(itemId)) {
+            events.add(new GameEvent("ITEM", timestamp, "Bought item " + itemId, playerName));
+          }
+        }
+        default -> {
+          // Not reported
+        }
+      }
+    }
+    log.info("Extracted {} timeline events", events.size());
+    return events;
+  }
+
+  /**
+   * Gold, XP and CS at 10 and 15 minutes, leads over the lane opponent at 15, and the largest gold
+   * lead over them during the game. The opponent is the one the radar chart compares against.
+   */
+  private void addLaningStats(MatchData matchData, MatchTimeline timeline, MatchData.ParticipantDto player,
+                              Map<String, Object> stats) {
+    TimelineFrames frames = timeline.getFrames();
+    int playerId = timeline.getParticipantId(player.getPuuid());
+    MatchData.ParticipantDto opponent =
+      matchService.selectParticipants(matchData, player.getPuuid(), true).getOpponent();
+    int opponentId = opponent != null ? timeline.getParticipantId(opponent.getPuuid()) : 0;
+
+    for (int minute : new int[] {10, 15}) {
+      if (!frames.covers(minute)) {
+        break;
+      }
+      stats.put("goldAt" + minute, frames.get(TimelineFrames.Stat.GOLD, playerId, minute));
+      stats.put("xpAt" + minute, frames.get(TimelineFrames.Stat.XP, playerId, minute));
+      stats.put("csAt" + minute, frames.get(TimelineFrames.Stat.CS, playerId, minute));
+    }
+    if (opponentId > 0 && frames.covers(15)) {
+      stats.put("goldDiffAt15", frames.diff(TimelineFrames.Stat.GOLD, playerId, opponentId, 15));
+      stats.put("xpDiffAt15", frames.diff(TimelineFrames.Stat.XP, playerId, opponentId, 15));
+      stats.put("csDiffAt15", frames.diff(TimelineFrames.Stat.CS, playerId, opponentId, 15));
+    }
+    if (opponentId > 0 && frames.getFrameCount() > 0) {
+      stats.put("maxGoldLeadOverOpponent", frames.maxLead(TimelineFrames.Stat.GOLD, playerId, opponentId));
+    }
+  }
+
+  // Participants 0-4 are team 100 and 5-9 are team 200, as in MatchService.selectParticipants
+  private static int teamId(int index) {
+    return index < 5 ? 100 : 200;
+  }
+
+  private static String multiKillName(int length) {
+    return switch (length) {
+      case 2 -> "Double kill";
+      case 3 -> "Triple kill";
+      case 4 -> "Quadra kill";
+      case 5 -> "Penta kill";
+      default -> length + "-kill streak";
+    };
+  }
+
   private List<GameEvent> extractImportantEvents(MatchData.ParticipantDto player) {
     List<GameEvent> events = new ArrayList<>();
     String playerName = player.getRiotIdGameName() != null ?
@@ -4,12 +4,15 @@ import com.edwardjtan.riot.model.APIComparisonResult;
 import com.edwardjtan.riot.model.GameAnalysis;
 import com.edwardjtan.riot.model.GameReportComparison;
 import com.edwardjtan.riot.model.MatchData;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Service
 public class GameReportComparisonService {
@@ -31,11 +34,62 @@ public class GameReportComparisonService {
         this.apiComparisonService = apiComparisonService;
     }
 
+    @Async
+    public CompletableFuture<List<GameReportComparison>> compareGameReportsAsync(String gameName, String tagLine,
+                                                                                 String anthropicModel, String openaiModel) {
+        return CompletableFuture.completedFuture(compareGameReports(gameName, tagLine, anthropicModel, openaiModel));
+    }
+
+    @Async
+    public CompletableFuture<List<GameReportComparison>> compareGameReportsByMatchIdAsync(String matchId,
+                                                                                          String puuid,
+                                                                                          String anthropicModel,
+                                                                                          String openaiModel) {
+        return CompletableFuture.completedFuture(compareGameReportsByMatchId(matchId, puuid, anthropicModel, openaiModel));
+    }
+
+    @Async
+    public CompletableFuture<List<GameReportComparison>> streamGameReportComparisonAsync(String gameName, String tagLine,
+                                                                                         String anthropicModel, String openaiModel,
+                                                                                         Consumer<GameReportComparison> onResult) {
+        return CompletableFuture.completedFuture(
+            streamGameReportComparison(gameName, tagLine, anthropicModel, openaiModel, onResult));
+    }
+
+    @Async
+    public CompletableFuture<List<GameReportComparison>> streamGameReportComparisonByMatchIdAsync(String matchId,
+                                                                                                  String puuid,
+                                                                                                  String anthropicModel,
+                                                                                                  String openaiModel,
+                                                                                                  Consumer<GameReportComparison> onResult) {
+        return CompletableFuture.completedFuture(
+            streamGameReportComparisonByMatchId(matchId, puuid, anthropicModel, openaiModel, onResult));
+    }
+
     /**
      * Generate game reports using multiple AI providers and compare them
      */
     public List<GameReportComparison> compareGameReports(String gameName, String tagLine,
                                                          String anthropicModel, String openaiModel) {
+        return streamGameReportComparison(gameName, tagLine, anthropicModel, openaiModel, comparison -> {});
+    }
+
+    /**
+     * Generate game reports using multiple AI providers and compare them by match ID
+     */
+    public List<GameReportComparison> compareGameReportsByMatchId(String matchId,
+                                                                   String puuid,
+                                                                   String anthropicModel,
+                                                                   String openaiModel) {
+        return streamGameReportComparisonByMatchId(matchId, puuid, anthropicModel, openaiModel, comparison -> {});
+    }
+
+    /**
+     * Compare game reports, passing each provider's result to onResult as soon as it finishes
+     */
+    public List<GameReportComparison> streamGameReportComparison(String gameName, String tagLine,
+                                                                 String anthropicModel, String openaiModel,
+                                                                 Consumer<GameReportComparison> onResult) {
         try {
             log.info("Starting game report comparison for {}#{}", gameName, tagLine);
 
@@ -44,7 +98,7 @@ public class GameReportComparisonService {
             MatchData latestMatch = matchService.getLatestMatchByPuuid(puuid);
             GameAnalysis analysis = gameAnalysisService.analyzeMatch(latestMatch, puuid);
 
-            return compareGameReportsByAnalysis(analysis, gameName, tagLine, anthropicModel, openaiModel);
+            return compareGameReportsByAnalysis(analysis, gameName, tagLine, anthropicModel, openaiModel, onResult);
 
         } catch (Exception e) {
             log.error("Error comparing game reports for {}#{}", gameName, tagLine, e);
@@ -53,12 +107,13 @@ public class GameReportComparisonService {
     }
 
     /**
-     * Generate game reports using multiple AI providers and compare them by match ID
+     * Compare game reports by match ID, passing each provider's result to onResult as soon as it finishes
      */
-    public List<GameReportComparison> compareGameReportsByMatchId(String matchId,
-                                                                   String puuid,
-                                                                   String anthropicModel,
-                                                                   String openaiModel) {
+    public List<GameReportComparison> streamGameReportComparisonByMatchId(String matchId,
+                                                                          String puuid,
+                                                                          String anthropicModel,
+                                                                          String openaiModel,
+                                                                          Consumer<GameReportComparison> onResult) {
         try {
             log.info("Starting game report comparison for match ID: {} and PUUID: {}", matchId, puuid);
 
@@ -67,7 +122,7 @@ public class GameReportComparisonService {
 
             GameAnalysis analysis = gameAnalysisService.analyzeMatch(matchData, puuid);
 
-            return compareGameReportsByAnalysis(analysis, null, null, anthropicModel, openaiModel);
+            return compareGameReportsByAnalysis(analysis, null, null, anthropicModel, openaiModel, onResult);
 
         } catch (Exception e) {
             log.error("Error comparing game reports for match ID: {}", matchId, e);
@@ -76,41 +131,29 @@ public class GameReportComparisonService {
     }
 
     /**
-     * Internal method to perform the actual comparison based on GameAnalysis
+     * Internal method to perform the actual comparison based on GameAnalysis.
+     * Providers are called concurrently, each with its own deadline, so the comparison takes as
+     * long as the slowest provider that answers in time.
      */
     private List<GameReportComparison> compareGameReportsByAnalysis(GameAnalysis analysis,
                                                                      String gameName,
                                                                      String tagLine,
                                                                      String anthropicModel,
-                                                                     String openaiModel) {
+                                                                     String openaiModel,
+                                                                     Consumer<GameReportComparison> onResult) {
         try {
             // Build the prompt for AI providers
             String prompt = buildGameAnalysisPrompt(analysis);
 
-            // Call API comparison service
-            List<APIComparisonResult> apiResults = apiComparisonService.compareProviders(
-                prompt, anthropicModel, openaiModel
-            );
+            // Call all providers at once; each result is converted and handed on as it arrives
+            List<APIComparisonResult> apiResults = apiComparisonService.compareProvidersConcurrently(
+                prompt, anthropicModel, openaiModel,
+                result -> onResult.accept(toComparison(result, analysis, gameName, tagLine))
+            ).join();
 
-            // Convert to GameReportComparison
             List<GameReportComparison> comparisons = new ArrayList<>();
             for (APIComparisonResult result : apiResults) {
-                GameReportComparison comparison = new GameReportComparison();
-                comparison.setProvider(result.getProvider());
-                comparison.setModel(result.getModel());
-                comparison.setSuccess(result.isSuccess());
-                comparison.setReport(result.getResponse());
-                comparison.setError(result.getError());
-                comparison.setResponseTime(result.getResponseTime());
-                comparison.setInputTokens(result.getInputTokens());
-                comparison.setOutputTokens(result.getOutputTokens());
-                comparison.setTotalTokens(result.getTotalTokens());
-                comparison.setTimestamp(result.getTimestamp());
-                comparison.setGameName(gameName);
-                comparison.setTagLine(tagLine);
-                comparison.setMatchId(analysis.getMatchId());
-
-                comparisons.add(comparison);
+                comparisons.add(toComparison(result, analysis, gameName, tagLine));
             }
 
             log.info("Completed game report comparison with {} providers", comparisons.size());
@@ -122,7 +165,26 @@ public class GameReportComparisonService {
         }
     }
 
-    private String buildGameAnalysisPrompt(GameAnalysis analysis) {
+    private static GameReportComparison toComparison(APIComparisonResult result, GameAnalysis analysis,
+                                                     String gameName, String tagLine) {
+        GameReportComparison comparison = new GameReportComparison();
+        comparison.setProvider(result.getProvider());
+        comparison.setModel(result.getModel());
+        comparison.setSuccess(result.isSuccess());
+        comparison.setReport(result.getResponse());
+        comparison.setError(result.getError());
+        comparison.setResponseTime(result.getResponseTime());
+        comparison.setInputTokens(result.getInputTokens());
+        comparison.setOutputTokens(result.getOutputTokens());
+        comparison.setTotalTokens(result.getTotalTokens());
+        comparison.setTimestamp(result.getTimestamp());
+        comparison.setGameName(gameName);
+        comparison.setTagLine(tagLine);
+        comparison.setMatchId(analysis.getMatchId());
+        return comparison;
+    }
+
+    String buildGameAnalysisPrompt(GameAnalysis analysis) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("You are a professional League of Legends analyst. Generate a detailed game report based on the following match data:\n\n");
         prompt.append("Match ID: ").append(analysis.getMatchId()).append("\n");
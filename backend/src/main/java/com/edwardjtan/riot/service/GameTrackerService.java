@@ -2,10 +2,15 @@ package com.edwardjtan.riot.service;
 
 import com.edwardjtan.riot.model.GameAnalysis;
 import com.edwardjtan.riot.model.MatchData;
+import com.edwardjtan.riot.model.RequestTimings;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 @Service
 public class GameTrackerService {
 
@@ -26,23 +31,53 @@ public class GameTrackerService {
     this.claudeService = claudeService;
   }
 
+  @Async
+  public CompletableFuture<String> generateGameReportAsync(String gameName, String tagLine, RequestTimings timings) {
+    return CompletableFuture.completedFuture(generateGameReport(gameName, tagLine, timings));
+  }
+
+  @Async
+  public CompletableFuture<String> generateGameReportByMatchIdAsync(String matchId, String puuid, RequestTimings timings) {
+    return CompletableFuture.completedFuture(generateGameReportByMatchId(matchId, puuid, timings));
+  }
+
+  @Async
+  public CompletableFuture<String> streamGameReportAsync(String gameName, String tagLine, Consumer<String> onText) {
+    return CompletableFuture.completedFuture(streamGameReport(gameName, tagLine, onText));
+  }
+
+  @Async
+  public CompletableFuture<String> streamGameReportByMatchIdAsync(String matchId, String puuid, Consumer<String> onText) {
+    return CompletableFuture.completedFuture(streamGameReportByMatchId(matchId, puuid, onText));
+  }
+
   public String generateGameReport(String gameName, String tagLine) {
+    return generateGameReport(gameName, tagLine, new RequestTimings());
+  }
+
+  /**
+   * Generate the report for a player's latest match, recording each step in {@code timings}.
+   */
+  public String generateGameReport(String gameName, String tagLine, RequestTimings timings) {
     try {
       log.info("Starting game report generation for {}#{}", gameName, tagLine);
 
       // Get PUUID from Riot ID
-      String puuid = summonerService.getPuuidByRiotId(gameName, tagLine);
+      String puuid = timings.time("account", "PUUID lookup",
+        () -> summonerService.getPuuidByRiotId(gameName, tagLine));
       log.info("Retrieved PUUID: {}", puuid);
 
       // Get latest match by PUUID using Riot API v5
-      MatchData latestMatch = matchService.getLatestMatchByPuuid(puuid);
+      MatchData latestMatch = timings.time("match", "Latest match",
+        () -> matchService.getLatestMatchByPuuid(puuid));
       log.info("Retrieved latest match: {}", latestMatch.getMetadata().getMatchId());
 
       // Analyze match using PUUID
-      GameAnalysis analysis = gameAnalysisService.analyzeMatch(latestMatch, puuid);
+      GameAnalysis analysis = timings.time("analysis", "Match analysis",
+        () -> gameAnalysisService.analyzeMatch(latestMatch, puuid));
       log.info("Completed match analysis");
 
-      String report = claudeService.generateGameReport(analysis);
+      String report = timings.time("llm", "Claude report", () -> claudeService.generateGameReport(analysis));
       log.info("Generated game report successfully");
 
       return report;
@@ -53,18 +88,23 @@ public class GameTrackerService {
   }
 
   public String generateGameReportByMatchId(String matchId, String puuid) {
+    return generateGameReportByMatchId(matchId, puuid, new RequestTimings());
+  }
+
+  public String generateGameReportByMatchId(String matchId, String puuid, RequestTimings timings) {
     try {
       log.info("Starting game report generation for match ID: {}", matchId);
 
       // Get match data by match ID
-      MatchData matchData = matchService.getMatchById(matchId);
+      MatchData matchData = timings.time("match", "Match", () -> matchService.getMatchById(matchId));
       log.info("Retrieved match data for: {}", matchId);
 
       // Analyze match using PUUID
-      GameAnalysis analysis = gameAnalysisService.analyzeMatch(matchData, puuid);
+      GameAnalysis analysis = timings.time("analysis", "Match analysis",
+        () -> gameAnalysisService.analyzeMatch(matchData, puuid));
       log.info("Completed match analysis");
 
-      String report = claudeService.generateGameReport(analysis);
+      String report = timings.time("llm", "Claude report", () -> claudeService.generateGameReport(analysis));
       log.info("Generated game report successfully");
 
       return report;
@@ -73,4 +113,36 @@ public class GameTrackerService {
       throw new RuntimeException("Failed to generate game report for match: " + e.getMessage(), e);
     }
   }
+
+  /**
+   * Same as {@link #generateGameReport} but hands report text to {@code onText} as Claude streams it.
+   */
+  public String streamGameReport(String gameName, String tagLine, Consumer<String> onText) {
+    try {
+      log.info("Starting streamed game report for {}#{}", gameName, tagLine);
+
+      String puuid = summonerService.getPuuidByRiotId(gameName, tagLine);
+      MatchData latestMatch = matchService.getLatestMatchByPuuid(puuid);
+      GameAnalysis analysis = gameAnalysisService.analyzeMatch(latestMatch, puuid);
+
+      return claudeService.streamGameReport(analysis, onText);
+    } catch (Exception e) {
+      log.error("Error streaming game report for {}#{}", gameName, tagLine, e);
+      throw new RuntimeException("Failed to generate game report: " + e.getMessage(), e);
+    }
+  }
+
+  public String streamGameReportByMatchId(String matchId, String puuid, Consumer<String> onText) {
+    try {
+      log.info("Starting streamed game report for match ID: {}", matchId);
+
+      MatchData matchData = matchService.getMatchById(matchId);
+      GameAnalysis analysis = gameAnalysisService.analyzeMatch(matchData, puuid);
+
+      return claudeService.streamGameReport(analysis, onText);
+    } catch (Exception e) {
+      log.error("Error streaming game report for match ID: {}", matchId, e);
+      throw new RuntimeException("Failed to generate game report for match: " + e.getMessage(), e);
+    }
+  }
 }
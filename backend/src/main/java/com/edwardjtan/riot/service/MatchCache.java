@@ -0,0 +1,72 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.MatchData;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-process cache of finished matches keyed by match ID.
+ * A match-v5 body never changes once the game is over, so entries are only ever evicted for size.
+ *
+ * Entries are held in {@link MatchDataCodec}'s compact encoding rather than as bound objects, so the
+ * cache fits many more matches per MB and every caller gets its own decoded copy.
+ */
+@Component
+public class MatchCache {
+
+  // Array header and map entry overhead on top of the encoded bytes
+  private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+  private final Cache<String, byte[]> cache;
+
+  public MatchCache(@Value("${riot.match.cache.max-weight-bytes:67108864}") long maxWeightBytes) {
+    this.cache = Caffeine.newBuilder()
+      .maximumWeight(maxWeightBytes)
+      .weigher((String matchId, byte[] encoded) -> encoded.length + ENTRY_OVERHEAD_BYTES)
+      .recordStats()
+      .build();
+  }
+
+  public MatchData get(String matchId) {
+    byte[] encoded = cache.getIfPresent(matchId);
+    return encoded != null ? MatchDataCodec.decode(encoded) : null;
+  }
+
+  /**
+   * Look up a match without counting a hit or miss, for re-checks inside an already-counted lookup.
+   */
+  MatchData peek(String matchId) {
+    byte[] encoded = cache.policy().getIfPresentQuietly(matchId);
+    return encoded != null ? MatchDataCodec.decode(encoded) : null;
+  }
+
+  public void put(String matchId, MatchData match) {
+    cache.put(matchId, MatchDataCodec.encode(match));
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public Map<String, Object> describe() {
+    CacheStats stats = cache.stats();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("hitCount", stats.hitCount());
+    result.put("missCount", stats.missCount());
+    result.put("hitRate", stats.hitRate());
+    result.put("evictionCount", stats.evictionCount());
+    result.put("evictionWeight", stats.evictionWeight());
+    result.put("entries", cache.estimatedSize());
+    cache.policy().eviction().ifPresent(eviction -> {
+      result.put("weightedSizeBytes", eviction.weightedSize().orElse(0));
+      result.put("maxWeightBytes", eviction.getMaximum());
+    });
+    return result;
+  }
+}
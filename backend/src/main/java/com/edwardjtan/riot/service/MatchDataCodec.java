@@ -0,0 +1,288 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.MatchData;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of {@link MatchData}, used to keep many more matches per MB in memory
+ * than bound Jackson object graphs, and to decode faster than re-parsing the JSON.
+ *
+ * Layout: a version byte, a string table, then the match fields. Every string (match ID, PUUIDs,
+ * champions, positions, names) is written once in the table and referenced by index, and a
+ * fixed set of common position values is pre-seeded so it never has to be written at all.
+ * Integers are zig-zag varints, so typical stat values take one to three bytes.
+ */
+public final class MatchDataCodec {
+
+  private static final byte VERSION = 1;
+
+  // Index 0 means null; these take indices 1..n and are never written to the table
+  private static final String[] SEEDED = {
+    "", "NONE", "Invalid", "UNKNOWN", "TOP", "JUNGLE", "MIDDLE", "MID", "BOTTOM", "BOT", "UTILITY", "SUPPORT"
+  };
+  private static final Map<String, Integer> SEEDED_INDEX = new HashMap<>();
+
+  static {
+    for (int i = 0; i < SEEDED.length; i++) {
+      SEEDED_INDEX.put(SEEDED[i], i + 1);
+    }
+  }
+
+  private MatchDataCodec() {
+  }
+
+  public static byte[] encode(MatchData match) {
+    MatchData.Metadata metadata = match.getMetadata();
+    MatchData.Info info = match.getInfo();
+    List<MatchData.ParticipantDto> participants = info != null && info.getParticipants() != null
+      ? info.getParticipants()
+      : List.of();
+
+    Map<String, Integer> table = new LinkedHashMap<>();
+    Writer out = new Writer(256 + participants.size() * 192);
+    out.writeByte(VERSION);
+
+    // Build the string table first so references can be written in one pass afterwards
+    intern(table, metadata != null ? metadata.getMatchId() : null);
+    for (MatchData.ParticipantDto p : participants) {
+      intern(table, p.getPuuid());
+      intern(table, p.getChampionName());
+      intern(table, p.getLane());
+      intern(table, p.getTeamPosition());
+      intern(table, p.getIndividualPosition());
+      intern(table, p.getSummonerName());
+      intern(table, p.getRiotIdGameName());
+      intern(table, p.getRiotIdTagline());
+    }
+    out.writeVarInt(table.size());
+    for (String value : table.keySet()) {
+      out.writeString(value);
+    }
+
+    out.writeBoolean(metadata != null);
+    out.writeVarInt(ref(table, metadata != null ? metadata.getMatchId() : null));
+    out.writeBoolean(info != null);
+    out.writeVarLong(info != null ? info.getGameDuration() : 0);
+    out.writeVarLong(info != null ? info.getGameCreation() : 0);
+    out.writeVarInt(info != null && info.getParticipants() == null ? -1 : participants.size());
+
+    for (MatchData.ParticipantDto p : participants) {
+      out.writeVarInt(ref(table, p.getPuuid()));
+      out.writeVarInt(ref(table, p.getChampionName()));
+      out.writeVarInt(ref(table, p.getLane()));
+      out.writeVarInt(ref(table, p.getTeamPosition()));
+      out.writeVarInt(ref(table, p.getIndividualPosition()));
+      out.writeVarInt(ref(table, p.getSummonerName()));
+      out.writeVarInt(ref(table, p.getRiotIdGameName()));
+      out.writeVarInt(ref(table, p.getRiotIdTagline()));
+      out.writeBoolean(p.isWin());
+      out.writeVarInt(p.getKills());
+      out.writeVarInt(p.getDeaths());
+      out.writeVarInt(p.getAssists());
+      out.writeVarInt(p.getGoldEarned());
+      out.writeVarInt(p.getVisionScore());
+      out.writeVarInt(p.getTotalMinionsKilled());
+      out.writeVarInt(p.getNeutralMinionsKilled());
+      out.writeVarInt(p.getDoubleKills());
+      out.writeVarInt(p.getTripleKills());
+      out.writeVarInt(p.getQuadraKills());
+      out.writeVarInt(p.getPentaKills());
+      out.writeVarInt(p.getSummoner1Id());
+      out.writeVarInt(p.getSummoner2Id());
+      out.writeVarInt(p.getSummoner1Casts());
+      out.writeVarInt(p.getSummoner2Casts());
+      out.writeVarInt(p.getTotalDamageDealtToChampions());
+      out.writeVarInt(p.getTotalDamageTaken());
+      out.writeVarInt(p.getWardsPlaced());
+      out.writeVarInt(p.getWardsKilled());
+    }
+    return out.toByteArray();
+  }
+
+  public static MatchData decode(byte[] bytes) {
+    Reader in = new Reader(bytes);
+    byte version = in.readByte();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported match encoding version: " + version);
+    }
+
+    String[] strings = new String[in.readVarInt()];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = in.readString();
+    }
+
+    MatchData match = new MatchData();
+    if (in.readBoolean()) {
+      MatchData.Metadata metadata = new MatchData.Metadata();
+      metadata.setMatchId(lookup(strings, in.readVarInt()));
+      match.setMetadata(metadata);
+    } else {
+      in.readVarInt();
+    }
+
+    boolean hasInfo = in.readBoolean();
+    long gameDuration = in.readVarLong();
+    long gameCreation = in.readVarLong();
+    int count = in.readVarInt();
+    if (!hasInfo) {
+      return match;
+    }
+
+    MatchData.Info info = new MatchData.Info();
+    info.setGameDuration(gameDuration);
+    info.setGameCreation(gameCreation);
+    if (count >= 0) {
+      List<MatchData.ParticipantDto> participants = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        MatchData.ParticipantDto p = new MatchData.ParticipantDto();
+        p.setPuuid(lookup(strings, in.readVarInt()));
+        p.setChampionName(lookup(strings, in.readVarInt()));
+        p.setLane(lookup(strings, in.readVarInt()));
+        p.setTeamPosition(lookup(strings, in.readVarInt()));
+        p.setIndividualPosition(lookup(strings, in.readVarInt()));
+        p.setSummonerName(lookup(strings, in.readVarInt()));
+        p.setRiotIdGameName(lookup(strings, in.readVarInt()));
+        p.setRiotIdTagline(lookup(strings, in.readVarInt()));
+        p.setWin(in.readBoolean());
+        p.setKills(in.readVarInt());
+        p.setDeaths(in.readVarInt());
+        p.setAssists(in.readVarInt());
+        p.setGoldEarned(in.readVarInt());
+        p.setVisionScore(in.readVarInt());
+        p.setTotalMinionsKilled(in.readVarInt());
+        p.setNeutralMinionsKilled(in.readVarInt());
+        p.setDoubleKills(in.readVarInt());
+        p.setTripleKills(in.readVarInt());
+        p.setQuadraKills(in.readVarInt());
+        p.setPentaKills(in.readVarInt());
+        p.setSummoner1Id(in.readVarInt());
+        p.setSummoner2Id(in.readVarInt());
+        p.setSummoner1Casts(in.readVarInt());
+        p.setSummoner2Casts(in.readVarInt());
+        p.setTotalDamageDealtToChampions(in.readVarInt());
+        p.setTotalDamageTaken(in.readVarInt());
+        p.setWardsPlaced(in.readVarInt());
+        p.setWardsKilled(in.readVarInt());
+        participants.add(p);
+      }
+      info.setParticipants(participants);
+    }
+    match.setInfo(info);
+    return match;
+  }
+
+  private static void intern(Map<String, Integer> table, String value) {
+    if (value != null && !SEEDED_INDEX.containsKey(value)) {
+      table.putIfAbsent(value, SEEDED.length + 1 + table.size());
+    }
+  }
+
+  private static int ref(Map<String, Integer> table, String value) {
+    if (value == null) {
+      return 0;
+    }
+    Integer seeded = SEEDED_INDEX.get(value);
+    return seeded != null ? seeded : table.get(value);
+  }
+
+  private static String lookup(String[] table, int ref) {
+    if (ref == 0) {
+      return null;
+    }
+    return ref <= SEEDED.length ? SEEDED[ref - 1] : table[ref - SEEDED.length - 1];
+  }
+
+  private static final class Writer {
+    private byte[] buffer;
+    private int size;
+
+    Writer(int initialCapacity) {
+      buffer = new byte[initialCapacity];
+    }
+
+    void writeByte(int value) {
+      if (size == buffer.length) {
+        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+      }
+      buffer[size++] = (byte) value;
+    }
+
+    void writeBoolean(boolean value) {
+      writeByte(value ? 1 : 0);
+    }
+
+    void writeVarInt(int value) {
+      writeVarLong(value);
+    }
+
+    void writeVarLong(long value) {
+      long zigZag = (value << 1) ^ (value >> 63);
+      while ((zigZag & ~0x7FL) != 0) {
+        writeByte((int) ((zigZag & 0x7F) | 0x80));
+        zigZag >>>= 7;
+      }
+      writeByte((int) zigZag);
+    }
+
+    void writeString(String value) {
+      byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+      writeVarInt(utf8.length);
+      if (size + utf8.length > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + utf8.length));
+      }
+      System.arraycopy(utf8, 0, buffer, size, utf8.length);
+      size += utf8.length;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, size);
+    }
+  }
+
+  private static final class Reader {
+    private final byte[] buffer;
+    private int position;
+
+    Reader(byte[] buffer) {
+      this.buffer = buffer;
+    }
+
+    byte readByte() {
+      return buffer[position++];
+    }
+
+    boolean readBoolean() {
+      return readByte() != 0;
+    }
+
+    int readVarInt() {
+      return (int) readVarLong();
+    }
+
+    long readVarLong() {
+      long zigZag = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = readByte();
+        zigZag |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    String readString() {
+      int length = readVarInt();
+      String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+  }
+}
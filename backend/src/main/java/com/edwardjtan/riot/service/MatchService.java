@@ -3,42 +3,151 @@ package com.edwardjtan.riot.service;
 import com.edwardjtan.riot.model.MatchData;
 import com.edwardjtan.riot.model.MatchSummary;
 import com.edwardjtan.riot.model.MatchDetails;
+import com.edwardjtan.riot.model.ParticipantSlice;
 import com.edwardjtan.riot.model.RadarChartStats;
 import com.edwardjtan.riot.model.PerformanceBenchmarks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import com.merakianalytics.orianna.types.core.match.Match;
 import com.merakianalytics.orianna.types.core.match.MatchHistory;
 import com.merakianalytics.orianna.types.core.match.Timeline;
 import com.merakianalytics.orianna.types.core.summoner.Summoner;
 import com.merakianalytics.orianna.types.common.Platform;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 @Service
 public class MatchService {
 
   private static final Logger log = LoggerFactory.getLogger(MatchService.class);
-  private final RestTemplate restTemplate = new RestTemplate();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final RiotApiClient riotApiClient;
+  private final MatchCache matchCache;
+  private final MatchStore matchStore;
+  private final PlayerAggregateStore playerAggregates;
+  private final BenchmarkDistributions benchmarks;
+  private final MatchV5Reader matchReader = new MatchV5Reader(objectMapper);
+  private final SingleFlight<String, MatchData> matchFetches = new SingleFlight<>();
+  private final SingleFlight<String, byte[]> payloadFetches = new SingleFlight<>();
+
+  // Jackson binding of match-v5 payloads: the whole match, or just the requested participants
+  private final Timer matchDeserialization;
+  private final Timer sliceDeserialization;
 
   @Value("${riot.api.key}")
   private String apiKey;
 
+  @Value("${riot.api.base-url:https://americas.api.riotgames.com}")
+  private String baseUrl;
+
+  @Value("${riot.match.fanout.enabled:true}")
+  private boolean fanOutEnabled;
+
+  @Value("${riot.match.fanout.max-concurrency:8}")
+  private int fanOutMaxConcurrency;
+
+  // Match bodies are I/O bound, so one virtual thread per fetch is cheap; the semaphore
+  // is what actually bounds how many Riot calls are in flight across all requests.
+  private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  private Semaphore fanOutPermits;
+
+  @Value("${riot.match.history.enabled:true}")
+  private boolean historyEnabled;
+
+  @Value("${riot.match.history.max-players:10000}")
+  private long historyMaxPlayers;
+
+  @Value("${riot.match.history.max-matches:100}")
+  private int historyMaxMatches;
+
+  @Value("${riot.match.history.delta-page-size:20}")
+  private int historyDeltaPageSize;
+
+  @Value("${riot.match.history.resync-after:60s}")
+  private Duration historyResyncAfter;
+
+  @Value("${riot.match.history.ttl:7d}")
+  private Duration historyTtl;
+
+  // Newest-first match summaries per PUUID, kept in step with Riot by delta syncs
+  private Cache<String, PlayerHistory> histories;
+  private final LongAdder fullSyncs = new LongAdder();
+  private final LongAdder deltaSyncs = new LongAdder();
+  private final LongAdder servedWithoutSync = new LongAdder();
+  private final LongAdder newMatchesFetched = new LongAdder();
+
+  public MatchService(RiotApiClient riotApiClient, MatchCache matchCache, MatchStore matchStore,
+                      PlayerAggregateStore playerAggregates, BenchmarkDistributions benchmarks,
+                      MeterRegistry meterRegistry) {
+    this.riotApiClient = riotApiClient;
+    this.matchCache = matchCache;
+    this.matchStore = matchStore;
+    this.playerAggregates = playerAggregates;
+    this.benchmarks = benchmarks;
+    this.matchDeserialization = meterRegistry.timer("json.deserialization", "type", "match");
+    this.sliceDeserialization = meterRegistry.timer("json.deserialization", "type", "match-participants");
+  }
+
+  @PostConstruct
+  void initializeFanOut() {
+    fanOutPermits = new Semaphore(Math.max(1, fanOutMaxConcurrency));
+    histories = Caffeine.newBuilder()
+      .maximumSize(historyMaxPlayers)
+      .expireAfterAccess(historyTtl)
+      .build();
+    // Rebuild the radar benchmark distributions and player aggregates from matches stored by
+    // earlier runs, in one pass. The IDs are taken before any request can store a match, so every
+    // match reaches the benchmarks either here or by loadMatchPayload, never both
+    List<String> storedMatchIds = matchStore.matchIds();
+    fanOutExecutor.execute(() -> {
+      matchStore.forEach(storedMatchIds, this::seedFromStore);
+      log.info("Seeded radar benchmarks ({} matches) and player aggregates ({} players) from the match store",
+        benchmarks.describe().get("matches"), playerAggregates.describe().get("players"));
+    });
+  }
+
+  @PreDestroy
+  void shutdownFanOut() {
+    fanOutExecutor.shutdownNow();
+  }
+
   public MatchData getLatestMatchByPuuid(String puuid) {
     try {
       log.info("Fetching latest match for PUUID: {}", puuid);
 
       // Get match IDs using Riot API v5
       String matchListUrl = String.format(
-        "https://americas.api.riotgames.com/lol/match/v5/matches/by-puuid/%s/ids?start=0&count=1&api_key=%s",
-        puuid, apiKey
+        "%s/lol/match/v5/matches/by-puuid/%s/ids?start=0&count=1&api_key=%s",
+        baseUrl, puuid, apiKey
       );
 
-      String[] matchIds = restTemplate.getForObject(matchListUrl, String[].class);
+      String[] matchIds = riotApiClient.get(RiotApiClient.MATCH_IDS_BY_PUUID, matchListUrl, String[].class);
 
       if (matchIds == null || matchIds.length == 0) {
         throw new RuntimeException("No matches found for PUUID: " + puuid);
@@ -55,22 +164,37 @@ public class MatchService {
   }
 
   public MatchData getMatchById(String matchId) {
-    try {
-      log.info("Fetching match data for match ID: {}", matchId);
+    MatchData cached = matchCache.get(matchId);
+    if (cached != null) {
+      log.debug("Match cache hit for match ID: {}", matchId);
+      playerAggregates.record(cached);
+      return cached;
+    }
 
-      // Get full match data using Riot API v5 directly
-      String matchUrl = String.format(
-        "https://americas.api.riotgames.com/lol/match/v5/matches/%s?api_key=%s",
-        matchId, apiKey
-      );
+    // Concurrent requests for the same match share one Riot call
+    MatchData matchData = matchFetches.execute(matchId, () -> fetchMatchById(matchId));
+    playerAggregates.record(matchData);
+    return matchData;
+  }
 
-      MatchData matchData = restTemplate.getForObject(matchUrl, MatchData.class);
+  /**
+   * Number of match fetches that were served by another caller's in-flight request.
+   */
+  public long getCoalescedMatchFetches() {
+    return matchFetches.coalescedCount() + payloadFetches.coalescedCount();
+  }
 
-      if (matchData == null) {
-        throw new RuntimeException("Failed to fetch match data for: " + matchId);
-      }
+  private MatchData fetchMatchById(String matchId) {
+    // The previous leader may have filled the cache between our miss and taking the flight
+    MatchData cached = matchCache.peek(matchId);
+    if (cached != null) {
+      return cached;
+    }
 
-      log.info("Successfully fetched match data");
+    try {
+      byte[] payload = loadMatchPayload(matchId);
+      MatchData matchData = readMatch(payload);
+      matchCache.put(matchId, matchData);
       return matchData;
     } catch (Exception e) {
       log.error("Error fetching match by ID: {}", matchId, e);
@@ -78,17 +202,93 @@ public class MatchService {
     }
   }
 
+  /**
+   * Raw match-v5 JSON from the local store, or from Riot (written through to the store).
+   */
+  private byte[] loadMatchPayload(String matchId) {
+    byte[] stored = matchStore.get(matchId);
+    if (stored != null) {
+      log.debug("Loaded match {} from local store", matchId);
+      return stored;
+    }
+
+    return payloadFetches.execute(matchId, () -> {
+      // The previous leader may have stored it between our miss and taking the flight
+      if (matchStore.contains(matchId)) {
+        byte[] payload = matchStore.get(matchId);
+        if (payload != null) {
+          return payload;
+        }
+      }
+      byte[] payload = fetchMatchPayload(matchId);
+      // Without the store a match is folded each time it is fetched from Riot, i.e. again only
+      // after it has left the match cache
+      if (matchStore.put(matchId, payload) || !matchStore.isEnabled()) {
+        fanOutExecutor.execute(() -> recordBenchmarks(matchId, payload));
+      }
+      return payload;
+    });
+  }
+
+  /**
+   * Load just the player, and optionally their lane opponent, from a match.
+   * Uses the cached MatchData when there is one; otherwise streams the raw payload and binds
+   * only those participants instead of the whole ten-player object graph.
+   */
+  ParticipantSlice loadParticipants(String matchId, String puuid, boolean withLaneOpponent) throws IOException {
+    ParticipantSlice slice;
+    MatchData cached = matchCache.get(matchId);
+    if (cached != null) {
+      slice = selectParticipants(cached, puuid, withLaneOpponent);
+    } else if (!matchStore.isEnabled()) {
+      // Without the store the full match has to be parsed anyway so it can be cached
+      MatchData matchData = matchFetches.execute(matchId, () -> fetchMatchById(matchId));
+      slice = selectParticipants(matchData, puuid, withLaneOpponent);
+    } else {
+      byte[] payload = loadMatchPayload(matchId);
+      long start = System.nanoTime();
+      slice = matchReader.read(payload, puuid, withLaneOpponent);
+      sliceDeserialization.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+    playerAggregates.record(slice.getMatchId(), slice.getGameDuration(), slice.getPlayer());
+    playerAggregates.record(slice.getMatchId(), slice.getGameDuration(), slice.getOpponent());
+    return slice;
+  }
+
+  private byte[] fetchMatchPayload(String matchId) {
+    log.info("Fetching match data for match ID: {}", matchId);
+
+    // Get full match data using Riot API v5 directly
+    String matchUrl = String.format(
+      "%s/lol/match/v5/matches/%s?api_key=%s",
+      baseUrl, matchId, apiKey
+    );
+
+    // Read the raw body so it can be stored as-is
+    byte[] payload = riotApiClient.get(RiotApiClient.MATCH_BY_ID, matchUrl, byte[].class);
+
+    if (payload == null) {
+      throw new RuntimeException("Failed to fetch match data for: " + matchId);
+    }
+
+    log.info("Successfully fetched match data");
+    return payload;
+  }
+
+  @Async
+  public CompletableFuture<List<MatchSummary>> getRecentMatchesAsync(String puuid, int count) {
+    return CompletableFuture.completedFuture(getRecentMatches(puuid, count));
+  }
+
   public List<MatchSummary> getRecentMatches(String puuid, int count) {
     try {
       log.info("Fetching {} recent matches for PUUID: {}", count, puuid);
 
-      // Get match IDs using Riot API v5
-      String matchListUrl = String.format(
-        "https://americas.api.riotgames.com/lol/match/v5/matches/by-puuid/%s/ids?start=0&count=%d&api_key=%s",
-        puuid, count, apiKey
-      );
+      if (historyEnabled) {
+        return recentMatchesFromHistory(puuid, count);
+      }
 
-      String[] matchIds = restTemplate.getForObject(matchListUrl, String[].class);
+      String[] matchIds = fetchMatchIds(puuid, 0, count, null);
 
       if (matchIds == null || matchIds.length == 0) {
         log.warn("No matches found for PUUID: {}", puuid);
@@ -96,38 +296,7 @@ public class MatchService {
       }
 
       log.info("Found {} match IDs, fetching details...", matchIds.length);
-
-      // Fetch each match and extract player stats
-      List<MatchSummary> summaries = new ArrayList<>();
-      for (String matchId : matchIds) {
-        try {
-          MatchData matchData = getMatchById(matchId);
-
-          // Find the player's participant data
-          MatchData.ParticipantDto playerData = matchData.getInfo().getParticipants()
-            .stream()
-            .filter(p -> p.getPuuid().equals(puuid))
-            .findFirst()
-            .orElse(null);
-
-          if (playerData != null) {
-            MatchSummary summary = new MatchSummary(
-              matchData.getMetadata().getMatchId(),
-              playerData.getChampionName(),
-              playerData.getKills(),
-              playerData.getDeaths(),
-              playerData.getAssists(),
-              playerData.isWin(),
-              matchData.getInfo().getGameDuration(),
-              matchData.getInfo().getGameCreation()
-            );
-            summaries.add(summary);
-          }
-        } catch (Exception e) {
-          log.error("Error fetching match {}: {}", matchId, e.getMessage());
-          // Continue with other matches
-        }
-      }
+      List<MatchSummary> summaries = fetchMatchSummaries(matchIds, puuid);
 
       log.info("Successfully retrieved {} match summaries", summaries.size());
       return summaries;
@@ -137,6 +306,209 @@ public class MatchService {
     }
   }
 
+  public Map<String, Object> describeMatchHistory() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("enabled", historyEnabled);
+    result.put("players", histories == null ? 0 : histories.estimatedSize());
+    result.put("fullSyncs", fullSyncs.sum());
+    result.put("deltaSyncs", deltaSyncs.sum());
+    result.put("servedWithoutSync", servedWithoutSync.sum());
+    result.put("newMatchesFetched", newMatchesFetched.sum());
+    return result;
+  }
+
+  /**
+   * Serve recent matches from the player's synced history, fetching only what is new.
+   *
+   * The first visit (or one asking for more matches than we hold) fetches the list in full. Later
+   * visits ask Riot for IDs since the newest known game's start ({@code startTime}) and stop at the
+   * first ID already held, so one new game costs one ID call and one match fetch. Within
+   * {@code riot.match.history.resync-after} of a sync the history is served without any Riot call.
+   */
+  private List<MatchSummary> recentMatchesFromHistory(String puuid, int count) {
+    PlayerHistory history = histories.getIfPresent(puuid);
+    if (history == null || (history.summaries().size() < count && !history.complete())) {
+      history = fullSync(puuid, count);
+    } else if (System.currentTimeMillis() - history.syncedAt() < historyResyncAfter.toMillis()) {
+      servedWithoutSync.increment();
+    } else {
+      history = deltaSync(puuid, history);
+    }
+    List<MatchSummary> summaries = history.summaries();
+    return new ArrayList<>(summaries.subList(0, Math.min(count, summaries.size())));
+  }
+
+  private PlayerHistory fullSync(String puuid, int count) {
+    String[] matchIds = fetchMatchIds(puuid, 0, count, null);
+    if (matchIds == null || matchIds.length == 0) {
+      log.warn("No matches found for PUUID: {}", puuid);
+      return remember(puuid, new PlayerHistory(List.of(), true, System.currentTimeMillis()), true);
+    }
+
+    log.info("Found {} match IDs, fetching details...", matchIds.length);
+    List<MatchSummary> summaries = fetchMatchSummaries(matchIds, puuid);
+    fullSyncs.increment();
+    newMatchesFetched.add(summaries.size());
+    log.info("Successfully retrieved {} match summaries", summaries.size());
+
+    // Fewer IDs than asked for means this is the player's whole history
+    PlayerHistory history = new PlayerHistory(List.copyOf(summaries), matchIds.length < count, System.currentTimeMillis());
+    return remember(puuid, history, summaries.size() == matchIds.length);
+  }
+
+  private PlayerHistory deltaSync(String puuid, PlayerHistory history) {
+    if (history.summaries().isEmpty()) {
+      return fullSync(puuid, Math.max(1, historyDeltaPageSize));
+    }
+
+    Set<String> known = new HashSet<>();
+    for (MatchSummary summary : history.summaries()) {
+      known.add(summary.getMatchId());
+    }
+    // startTime is inclusive and in seconds, so the newest known game comes back too and ends the scan
+    long startTime = history.summaries().get(0).getGameCreation() / 1000;
+
+    List<String> fresh = new ArrayList<>();
+    int pageSize = Math.min(100, Math.max(1, historyDeltaPageSize));
+    scan:
+    for (int start = 0; fresh.size() < historyMaxMatches; start += pageSize) {
+      String[] page = fetchMatchIds(puuid, start, pageSize, startTime);
+      if (page == null) {
+        break;
+      }
+      for (String matchId : page) {
+        if (known.contains(matchId)) {
+          break scan;
+        }
+        fresh.add(matchId);
+      }
+      if (page.length < pageSize) {
+        break;
+      }
+    }
+    deltaSyncs.increment();
+
+    if (fresh.isEmpty()) {
+      return remember(puuid, history.resynced(System.currentTimeMillis()), true);
+    }
+
+    log.info("Found {} new matches for PUUID: {}", fresh.size(), puuid);
+    List<MatchSummary> newSummaries = fetchMatchSummaries(fresh.toArray(String[]::new), puuid);
+    newMatchesFetched.add(newSummaries.size());
+
+    List<MatchSummary> merged = new ArrayList<>(newSummaries);
+    merged.addAll(history.summaries());
+    if (merged.size() > historyMaxMatches) {
+      merged = merged.subList(0, historyMaxMatches);
+    }
+    PlayerHistory updated = new PlayerHistory(List.copyOf(merged),
+      history.complete() && merged.size() < historyMaxMatches, System.currentTimeMillis());
+    // A new match that failed to load would be skipped for good once a newer ID is known,
+    // so only keep the result when every new match loaded
+    return remember(puuid, updated, newSummaries.size() == fresh.size());
+  }
+
+  private PlayerHistory remember(String puuid, PlayerHistory history, boolean keep) {
+    if (keep) {
+      histories.put(puuid, history);
+    }
+    return history;
+  }
+
+  private String[] fetchMatchIds(String puuid, int start, int count, Long startTime) {
+    String matchListUrl = String.format(
+      "%s/lol/match/v5/matches/by-puuid/%s/ids?start=%d&count=%d%s&api_key=%s",
+      baseUrl, puuid, start, count, startTime == null ? "" : "&startTime=" + startTime, apiKey
+    );
+    return riotApiClient.get(RiotApiClient.MATCH_IDS_BY_PUUID, matchListUrl, String[].class);
+  }
+
+  private List<MatchSummary> fetchMatchSummaries(String[] matchIds, String puuid) {
+    return fanOutEnabled
+      ? fetchMatchSummariesConcurrently(matchIds, puuid)
+      : fetchMatchSummariesSequentially(matchIds, puuid);
+  }
+
+  private List<MatchSummary> fetchMatchSummariesSequentially(String[] matchIds, String puuid) {
+    List<MatchSummary> summaries = new ArrayList<>();
+    for (String matchId : matchIds) {
+      MatchSummary summary = fetchMatchSummary(matchId, puuid);
+      if (summary != null) {
+        summaries.add(summary);
+      }
+    }
+    return summaries;
+  }
+
+  /**
+   * Fetch all match bodies at once on virtual threads, bounded by the fan-out permits.
+   * Results are collected in match ID order so the response matches the sequential path.
+   */
+  private List<MatchSummary> fetchMatchSummariesConcurrently(String[] matchIds, String puuid) {
+    List<Future<MatchSummary>> futures = new ArrayList<>(matchIds.length);
+    for (String matchId : matchIds) {
+      futures.add(fanOutExecutor.submit(() -> fetchMatchSummaryWithPermit(matchId, puuid)));
+    }
+
+    List<MatchSummary> summaries = new ArrayList<>();
+    for (int i = 0; i < futures.size(); i++) {
+      try {
+        MatchSummary summary = futures.get(i).get();
+        if (summary != null) {
+          summaries.add(summary);
+        }
+      } catch (InterruptedException e) {
+        futures.forEach(f -> f.cancel(true));
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while fetching matches", e);
+      } catch (ExecutionException e) {
+        log.error("Error fetching match {}: {}", matchIds[i], e.getCause().getMessage());
+        // Continue with other matches
+      }
+    }
+    return summaries;
+  }
+
+  private MatchSummary fetchMatchSummaryWithPermit(String matchId, String puuid) throws InterruptedException {
+    fanOutPermits.acquire();
+    try {
+      return fetchMatchSummary(matchId, puuid);
+    } finally {
+      fanOutPermits.release();
+    }
+  }
+
+  /**
+   * Fetch one match and summarize it for the player. Returns null if the match could not be
+   * fetched or the player is not in it, so one bad match never fails the whole list.
+   */
+  private MatchSummary fetchMatchSummary(String matchId, String puuid) {
+    try {
+      ParticipantSlice slice = loadParticipants(matchId, puuid, false);
+      MatchData.ParticipantDto playerData = slice.getPlayer();
+
+      return new MatchSummary(
+        slice.getMatchId(),
+        playerData.getChampionName(),
+        playerData.getKills(),
+        playerData.getDeaths(),
+        playerData.getAssists(),
+        playerData.isWin(),
+        slice.getGameDuration(),
+        slice.getGameCreation()
+      );
+    } catch (Exception e) {
+      log.error("Error fetching match {}: {}", matchId, e.getMessage());
+      // Continue with other matches
+      return null;
+    }
+  }
+
+  @Async
+  public CompletableFuture<MatchDetails> getMatchDetailsAsync(String matchId, String puuid) {
+    return CompletableFuture.completedFuture(getMatchDetails(matchId, puuid));
+  }
+
   public MatchDetails getMatchDetails(String matchId, String puuid) {
     try {
       log.info("Fetching match details for match ID: {} and PUUID: {}", matchId, puuid);
@@ -172,7 +544,7 @@ public class MatchService {
     }
   }
 
-  private MatchDetails.PlayerStats convertToPlayerStats(MatchData.ParticipantDto participant) {
+  MatchDetails.PlayerStats convertToPlayerStats(MatchData.ParticipantDto participant) {
     MatchDetails.PlayerStats stats = new MatchDetails.PlayerStats();
     stats.setPuuid(participant.getPuuid());
     stats.setSummonerName(participant.getSummonerName());
@@ -207,67 +579,156 @@ public class MatchService {
     return stats;
   }
 
+  @Async
+  public CompletableFuture<RadarChartStats> getRadarChartStatsAsync(String matchId, String puuid) {
+    return CompletableFuture.completedFuture(getRadarChartStats(matchId, puuid));
+  }
+
   public RadarChartStats getRadarChartStats(String matchId, String puuid) {
     try {
       log.info("Fetching radar chart stats for match ID: {} and PUUID: {}", matchId, puuid);
 
-      MatchData matchData = getMatchById(matchId);
+      ParticipantSlice slice = loadParticipants(matchId, puuid, true);
+      MatchData.ParticipantDto player = slice.getPlayer();
+      MatchData.ParticipantDto opponent = slice.getOpponent();
+      if (opponent == null) {
+        throw new RuntimeException("No opponent found in match");
+      }
 
-      // Find the player's participant data
-      MatchData.ParticipantDto player = matchData.getInfo().getParticipants()
-        .stream()
-        .filter(p -> p.getPuuid().equals(puuid))
-        .findFirst()
-        .orElseThrow(() -> new RuntimeException("Player not found in match: " + matchId));
+      log.info("Player position: {}, Opponent: {}", getBestPosition(player), opponent.getChampionName());
 
-      // Find the opponent in the same position (opposite team)
-      String playerPosition = getBestPosition(player);
-      int playerTeam = getTeamId(matchData, puuid);
+      RadarChartStats radarStats = scoreRadarStats(slice);
 
-      log.info("Player position: {}, Team: {}", playerPosition, playerTeam);
+      log.info("Successfully created radar chart stats");
+      return radarStats;
+    } catch (Exception e) {
+      log.error("Error fetching radar chart stats for match ID: {}", matchId, e);
+      throw new RuntimeException("Failed to fetch radar chart stats for match: " + matchId, e);
+    }
+  }
 
-      MatchData.ParticipantDto opponent = matchData.getInfo().getParticipants()
-        .stream()
-        .filter(p -> !p.getPuuid().equals(puuid))
-        .filter(p -> getTeamId(matchData, p.getPuuid()) != playerTeam)
-        .filter(p -> {
-          String opponentPosition = getBestPosition(p);
-          return opponentPosition.equals(playerPosition);
-        })
-        .findFirst()
-        .orElse(null);
+  /**
+   * Pick the player and (optionally) their lane opponent out of a fully parsed match: the first
+   * participant on the other team in the same role, else the first participant on the other team.
+   */
+  ParticipantSlice selectParticipants(MatchData matchData, String puuid, boolean withLaneOpponent) {
+    String matchId = matchData.getMetadata().getMatchId();
+    List<MatchData.ParticipantDto> participants = matchData.getInfo().getParticipants();
 
-      // If no opponent found in same position, just get first enemy
-      if (opponent == null) {
-        log.warn("No direct lane opponent found for position {}, selecting first opponent from enemy team", playerPosition);
-        opponent = matchData.getInfo().getParticipants()
-          .stream()
-          .filter(p -> !p.getPuuid().equals(puuid))
-          .filter(p -> getTeamId(matchData, p.getPuuid()) != playerTeam)
-          .findFirst()
-          .orElseThrow(() -> new RuntimeException("No opponent found in match"));
+    // One pass resolves every participant's team and lane, and finds the player. Lanes are coded
+    // as MatchV5Reader codes them, so the stored-payload path picks the same opponent
+    int count = participants.size();
+    int[] teams = new int[count];
+    int[] lanes = new int[count];
+    PositionCodes positionCodes = new PositionCodes();
+    int playerIndex = -1;
+    for (int i = 0; i < count; i++) {
+      MatchData.ParticipantDto participant = participants.get(i);
+      // In League of Legends, participants 0-4 are team 100, participants 5-9 are team 200
+      teams[i] = i < 5 ? 100 : 200;
+      lanes[i] = positionCodes.code(getBestPosition(participant));
+      if (playerIndex < 0 && puuid.equals(participant.getPuuid())) {
+        playerIndex = i;
       }
+    }
+    if (playerIndex < 0) {
+      throw new RuntimeException("Player not found in match: " + matchId);
+    }
 
-      // Get game duration in minutes
-      double gameDurationMinutes = matchData.getInfo().getGameDuration() / 60.0;
+    MatchData.ParticipantDto opponent = null;
+    if (withLaneOpponent) {
+      int firstEnemy = -1;
+      int opponentIndex = -1;
+      for (int i = 0; i < count && opponentIndex < 0; i++) {
+        if (teams[i] == teams[playerIndex]) {
+          continue;
+        }
+        if (firstEnemy < 0) {
+          firstEnemy = i;
+        }
+        if (lanes[i] == lanes[playerIndex]) {
+          opponentIndex = i;
+        }
+      }
 
-      RadarChartStats.PlayerRadarStats playerStats = convertToRadarStats(player, gameDurationMinutes, playerPosition);
-      RadarChartStats.PlayerRadarStats opponentStats = convertToRadarStats(opponent, gameDurationMinutes, getBestPosition(opponent));
+      // If no opponent found in same position, just get first enemy
+      if (opponentIndex < 0 && firstEnemy >= 0) {
+        log.warn("No direct lane opponent found for position {}, selecting first opponent from enemy team",
+          getBestPosition(participants.get(playerIndex)));
+        opponentIndex = firstEnemy;
+      }
+      opponent = opponentIndex >= 0 ? participants.get(opponentIndex) : null;
+    }
 
-      // Normalize stats based on rank/role benchmarks
-      normalizeRadarStatsWithBenchmarks(playerStats, opponentStats);
+    return new ParticipantSlice(
+      matchId,
+      matchData.getInfo().getGameDuration(),
+      matchData.getInfo().getGameCreation(),
+      participants.get(playerIndex),
+      opponent
+    );
+  }
 
-      RadarChartStats radarStats = new RadarChartStats(matchId, playerStats, opponentStats);
+  /**
+   * Radar stats for a slice's player and opponent. Both participants' raw per-minute values go
+   * into one array, are scored there against their role's benchmarks, and each response bean is
+   * filled once from the final scores.
+   */
+  RadarChartStats scoreRadarStats(ParticipantSlice slice) {
+    MatchData.ParticipantDto player = slice.getPlayer();
+    MatchData.ParticipantDto opponent = slice.getOpponent();
+    String playerPosition = getBestPosition(player);
+    String opponentPosition = getBestPosition(opponent);
+    double gameDurationMinutes = slice.getGameDuration() / 60.0;
+
+    int opponentOffset = PerformanceBenchmarks.STAT_COUNT;
+    double[] values = new double[2 * PerformanceBenchmarks.STAT_COUNT];
+    radarValues(player, gameDurationMinutes, values, 0);
+    radarValues(opponent, gameDurationMinutes, values, opponentOffset);
+    normalizeRadarValues(PerformanceBenchmarks.detectRole(playerPosition), values, 0);
+    normalizeRadarValues(PerformanceBenchmarks.detectRole(opponentPosition), values, opponentOffset);
+
+    return new RadarChartStats(
+      slice.getMatchId(),
+      toRadarStats(player, playerPosition, values, 0),
+      toRadarStats(opponent, opponentPosition, values, opponentOffset)
+    );
+  }
 
-      log.info("Successfully created radar chart stats");
-      return radarStats;
-    } catch (Exception e) {
-      log.error("Error fetching radar chart stats for match ID: {}", matchId, e);
-      throw new RuntimeException("Failed to fetch radar chart stats for match: " + matchId, e);
+  /**
+   * A participant's raw radar values (per-minute rates and KDA) into
+   * {@code values[offset + PerformanceBenchmarks.STAT_*]}.
+   */
+  void radarValues(MatchData.ParticipantDto participant, double gameDurationMinutes, double[] values, int offset) {
+    double perMinute = gameDurationMinutes > 0 ? 1 / gameDurationMinutes : 0;
+    values[offset + PerformanceBenchmarks.STAT_DAMAGE] = participant.getTotalDamageDealtToChampions() * perMinute;
+    values[offset + PerformanceBenchmarks.STAT_DAMAGE_TAKEN] = participant.getTotalDamageTaken() * perMinute;
+    values[offset + PerformanceBenchmarks.STAT_FARM] =
+      (participant.getTotalMinionsKilled() + participant.getNeutralMinionsKilled()) * perMinute;
+    values[offset + PerformanceBenchmarks.STAT_GOLD] = participant.getGoldEarned() * perMinute;
+    // Use wards/min for vision
+    values[offset + PerformanceBenchmarks.STAT_VISION] = participant.getWardsPlaced() * perMinute;
+
+    int takedowns = participant.getKills() + participant.getAssists();
+    values[offset + PerformanceBenchmarks.STAT_KDA] =
+      participant.getDeaths() == 0 ? takedowns : (double) takedowns / participant.getDeaths();
+  }
+
+  /**
+   * Score each stat by its percentile among stored matches in the same role (median = 100,
+   * best = 200); roles without enough samples yet use the static rank/role benchmarks, where
+   * 100 = at benchmark, 200 = 2x benchmark, 50 = 0.5x benchmark.
+   */
+  void normalizeRadarValues(PerformanceBenchmarks.Role role, double[] values, int offset) {
+    if (benchmarks.normalize(role, values, offset)) {
+      return;
     }
+    // Use Gold rank as default (could be enhanced to detect actual rank)
+    PerformanceBenchmarks.normalize(PerformanceBenchmarks.getDefaultRank(), role, values, offset);
   }
 
-  private RadarChartStats.PlayerRadarStats convertToRadarStats(MatchData.ParticipantDto participant, double gameDurationMinutes, String position) {
+  private RadarChartStats.PlayerRadarStats toRadarStats(MatchData.ParticipantDto participant, String position,
+                                                        double[] values, int offset) {
     RadarChartStats.PlayerRadarStats stats = new RadarChartStats.PlayerRadarStats();
 
     stats.setPuuid(participant.getPuuid());
@@ -289,78 +750,77 @@ public class MatchService {
     stats.setDeaths(participant.getDeaths());
     stats.setAssists(participant.getAssists());
 
-    // Calculate KDA
-    double kda = participant.getDeaths() == 0
-      ? participant.getKills() + participant.getAssists()
-      : (double) (participant.getKills() + participant.getAssists()) / participant.getDeaths();
-    stats.setKda(kda);
-
-    // Calculate per-minute stats (will be normalized later against benchmarks)
-    if (gameDurationMinutes > 0) {
-      stats.setDamage(participant.getTotalDamageDealtToChampions() / gameDurationMinutes);
-      stats.setDamageTaken(participant.getTotalDamageTaken() / gameDurationMinutes);
-      stats.setFarm((participant.getTotalMinionsKilled() + participant.getNeutralMinionsKilled()) / gameDurationMinutes);
-      stats.setGold(participant.getGoldEarned() / gameDurationMinutes);
-      stats.setVision(participant.getWardsPlaced() / gameDurationMinutes); // Use wards/min for vision
-    }
+    // Scores
+    stats.setDamage(values[offset + PerformanceBenchmarks.STAT_DAMAGE]);
+    stats.setDamageTaken(values[offset + PerformanceBenchmarks.STAT_DAMAGE_TAKEN]);
+    stats.setFarm(values[offset + PerformanceBenchmarks.STAT_FARM]);
+    stats.setGold(values[offset + PerformanceBenchmarks.STAT_GOLD]);
+    stats.setVision(values[offset + PerformanceBenchmarks.STAT_VISION]);
+    stats.setKda(values[offset + PerformanceBenchmarks.STAT_KDA]);
 
     return stats;
   }
 
-  private void normalizeRadarStatsWithBenchmarks(RadarChartStats.PlayerRadarStats player, RadarChartStats.PlayerRadarStats opponent) {
-    // Normalize stats to 0-100 scale based on rank/role benchmarks
-    // 100 = at benchmark, 200 = 2x benchmark, 50 = 0.5x benchmark
-
-    // Detect roles
-    PerformanceBenchmarks.Role playerRole = PerformanceBenchmarks.detectRole(player.getLane());
-    PerformanceBenchmarks.Role opponentRole = PerformanceBenchmarks.detectRole(opponent.getLane());
-
-    // Use Gold rank as default (could be enhanced to detect actual rank)
-    PerformanceBenchmarks.Rank rank = PerformanceBenchmarks.getDefaultRank();
-
-    // Get benchmarks
-    PerformanceBenchmarks.Benchmark playerBenchmark = PerformanceBenchmarks.getBenchmark(rank, playerRole);
-    PerformanceBenchmarks.Benchmark opponentBenchmark = PerformanceBenchmarks.getBenchmark(rank, opponentRole);
-
-    // Normalize player stats
-    normalizePlayerStats(player, playerBenchmark);
-    normalizePlayerStats(opponent, opponentBenchmark);
-  }
-
-  private void normalizePlayerStats(RadarChartStats.PlayerRadarStats stats, PerformanceBenchmarks.Benchmark benchmark) {
-    // Normalize each stat: (actual / benchmark) * 100
-    // No cap - let stats overflow if they're exceptional
-
-    if (benchmark.damagePerMin > 0) {
-      stats.setDamage((stats.getDamage() / benchmark.damagePerMin) * 100);
-    }
-
-    if (benchmark.goldPerMin > 0) {
-      stats.setGold((stats.getGold() / benchmark.goldPerMin) * 100);
-    }
-
-    if (benchmark.csPerMin > 0) {
-      stats.setFarm((stats.getFarm() / benchmark.csPerMin) * 100);
+  /**
+   * Fold a match stored by an earlier run into the benchmarks and its players' aggregates.
+   */
+  private void seedFromStore(String matchId, byte[] payload) {
+    MatchData matchData;
+    try {
+      matchData = readMatch(payload);
+    } catch (IOException e) {
+      log.warn("Skipping stored match {}", matchId, e);
+      return;
     }
+    recordBenchmarks(matchId, matchData);
+    playerAggregates.record(matchData);
+  }
 
-    if (benchmark.wardsPerMin > 0) {
-      stats.setVision((stats.getVision() / benchmark.wardsPerMin) * 100);
+  /**
+   * Fold every participant of a newly stored match into the radar benchmark distributions.
+   * Runs off the request path; a payload that fails to parse is skipped.
+   */
+  private void recordBenchmarks(String matchId, byte[] payload) {
+    MatchData matchData;
+    try {
+      matchData = readMatch(payload);
+    } catch (IOException e) {
+      log.warn("Skipping match {} for radar benchmarks", matchId, e);
+      return;
     }
+    recordBenchmarks(matchId, matchData);
+  }
 
-    if (benchmark.kda > 0) {
-      stats.setKda((stats.getKda() / benchmark.kda) * 100);
+  private void recordBenchmarks(String matchId, MatchData matchData) {
+    try {
+      long duration = matchData.getInfo().getGameDuration();
+      // Remakes end before 5 minutes and would skew the per-minute rates
+      if (duration < 300 || matchData.getInfo().getParticipants() == null) {
+        return;
+      }
+      double[] values = new double[PerformanceBenchmarks.STAT_COUNT];
+      for (MatchData.ParticipantDto participant : matchData.getInfo().getParticipants()) {
+        radarValues(participant, duration / 60.0, values, 0);
+        benchmarks.record(PerformanceBenchmarks.detectRole(getBestPosition(participant)), values, 0);
+      }
+      benchmarks.countMatch();
+    } catch (Exception e) {
+      log.warn("Skipping match {} for radar benchmarks", matchId, e);
     }
+  }
 
-    // Damage Taken: normalize similarly (higher damage taken = more frontline presence)
-    double avgDamageTaken = 450; // Rough average across roles
-    stats.setDamageTaken((stats.getDamageTaken() / avgDamageTaken) * 100);
+  private MatchData readMatch(byte[] payload) throws IOException {
+    long start = System.nanoTime();
+    MatchData matchData = objectMapper.readValue(payload, MatchData.class);
+    matchDeserialization.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return matchData;
   }
 
   /**
    * Get the best position field from participant data.
    * Prefers teamPosition > individualPosition > lane
    */
-  private String getBestPosition(MatchData.ParticipantDto participant) {
+  static String getBestPosition(MatchData.ParticipantDto participant) {
     // Try teamPosition first (most reliable in recent patches)
     if (participant.getTeamPosition() != null && !participant.getTeamPosition().isEmpty()
         && !participant.getTeamPosition().equals("Invalid") && !participant.getTeamPosition().equals("NONE")) {
@@ -383,15 +843,13 @@ public class MatchService {
     return "UNKNOWN";
   }
 
-  private int getTeamId(MatchData matchData, String puuid) {
-    // In League of Legends, participants 0-4 are team 100, participants 5-9 are team 200
-    List<MatchData.ParticipantDto> participants = matchData.getInfo().getParticipants();
-    for (int i = 0; i < participants.size(); i++) {
-      if (participants.get(i).getPuuid().equals(puuid)) {
-        return i < 5 ? 100 : 200;
-      }
+  /**
+   * A player's synced history: newest-first summaries, whether they are the player's entire
+   * history, and when Riot was last asked for new IDs.
+   */
+  private record PlayerHistory(List<MatchSummary> summaries, boolean complete, long syncedAt) {
+    PlayerHistory resynced(long now) {
+      return new PlayerHistory(summaries, complete, now);
     }
-    throw new RuntimeException("Player not found in match");
   }
-
 }
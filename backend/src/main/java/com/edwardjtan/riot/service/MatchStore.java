@@ -0,0 +1,443 @@
+package com.edwardjtan.riot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Persistent store of raw match-v5 payloads so a restart does not refetch history from Riot.
+ *
+ * Matches are appended, deflate-compressed, to segment files under {@code riot.match.store.dir}.
+ * An in-memory index from match ID to (segment, offset) is rebuilt by scanning the segments on
+ * startup. Reads of full, rolled segments go through a read-only memory mapping of the segment;
+ * reads from the segment still being appended to use positional channel reads.
+ *
+ * Record layout: [int length][int crc32][short idLength][id utf-8][int rawLength][deflated bytes],
+ * where length and crc cover everything after the crc. A torn record at the end of the last
+ * segment (e.g. after a crash mid-write) is truncated away on startup. Elsewhere a record failing
+ * its CRC is skipped by its length, and a segment whose length field is unusable is indexed only
+ * up to that point; neither case modifies the file.
+ */
+@Component
+public class MatchStore {
+
+  private static final Logger log = LoggerFactory.getLogger(MatchStore.class);
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final int HEADER_BYTES = 8;
+
+  @Value("${riot.match.store.enabled:true}")
+  private boolean enabled;
+
+  @Value("${riot.match.store.dir:data/match-store}")
+  private String directory;
+
+  @Value("${riot.match.store.segment-max-bytes:268435456}")
+  private long segmentMaxBytes;
+
+  private final Map<String, Location> index = new ConcurrentHashMap<>();
+  private final List<Segment> segments = new CopyOnWriteArrayList<>();
+  private Segment activeSegment;
+  private int nextFileNumber;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder writes = new LongAdder();
+
+  @PostConstruct
+  void open() {
+    if (!enabled) {
+      log.info("Match store disabled");
+      return;
+    }
+    try {
+      Path root = Paths.get(directory);
+      Files.createDirectories(root);
+
+      List<Path> files;
+      try (Stream<Path> listing = Files.list(root)) {
+        files = listing
+          .filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX))
+          .filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+          .sorted()
+          .toList();
+      }
+
+      for (int i = 0; i < files.size(); i++) {
+        Path file = files.get(i);
+        boolean last = i == files.size() - 1;
+        Segment segment = new Segment(segments.size(), file, !last);
+        segments.add(segment);
+        loadIndex(segment, last);
+        nextFileNumber = Math.max(nextFileNumber, fileNumber(file) + 1);
+      }
+
+      if (segments.isEmpty()) {
+        rollSegment();
+      } else {
+        activeSegment = segments.get(segments.size() - 1);
+      }
+      log.info("Match store opened at {} with {} matches in {} segments", root.toAbsolutePath(), index.size(), segments.size());
+    } catch (IOException e) {
+      // A broken store must not take the service down; fall back to the network only
+      log.error("Failed to open match store at {}, continuing without it", directory, e);
+      enabled = false;
+    }
+  }
+
+  @PreDestroy
+  synchronized void close() {
+    for (Segment segment : segments) {
+      try {
+        segment.channel.close();
+      } catch (IOException e) {
+        log.warn("Error closing match store segment {}", segment.file, e);
+      }
+    }
+  }
+
+  /**
+   * Return the raw match-v5 JSON for a match, or null if it has not been stored.
+   */
+  public byte[] get(String matchId) {
+    if (!enabled) {
+      return null;
+    }
+    Location location = index.get(matchId);
+    if (location == null) {
+      misses.increment();
+      return null;
+    }
+    try {
+      ByteBuffer record = segments.get(location.segment()).read(location.offset(), location.length());
+      byte[] payload = decodeRecord(record);
+      hits.increment();
+      return payload;
+    } catch (IOException | DataFormatException e) {
+      log.error("Failed to read match {} from store, dropping it from the index", matchId, e);
+      index.remove(matchId, location);
+      misses.increment();
+      return null;
+    }
+  }
+
+  /**
+   * The IDs of every match stored right now, to fix which records a later
+   * {@link #forEach(Collection, BiConsumer)} visits.
+   */
+  public List<String> matchIds() {
+    return enabled ? List.copyOf(index.keySet()) : List.of();
+  }
+
+  /**
+   * Visit the stored payloads of the given matches, e.g. to rebuild state derived from matches on
+   * startup. Records that fail to read are skipped. Does not count towards hits and misses.
+   */
+  public void forEach(Collection<String> matchIds, BiConsumer<String, byte[]> visitor) {
+    if (!enabled) {
+      return;
+    }
+    for (String matchId : matchIds) {
+      Location location = index.get(matchId);
+      if (location == null) {
+        continue;
+      }
+      byte[] payload;
+      try {
+        payload = decodeRecord(segments.get(location.segment()).read(location.offset(), location.length()));
+      } catch (IOException | DataFormatException e) {
+        log.warn("Skipping unreadable match {} in store", matchId, e);
+        continue;
+      }
+      visitor.accept(matchId, payload);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public boolean contains(String matchId) {
+    return enabled && index.containsKey(matchId);
+  }
+
+  /**
+   * Append a raw match-v5 payload. Matches that are already stored are ignored.
+   *
+   * @return whether this call stored the match, i.e. it is new to the store
+   */
+  public boolean put(String matchId, byte[] payload) {
+    if (!enabled || index.containsKey(matchId)) {
+      return false;
+    }
+    ByteBuffer record = encodeRecord(matchId, payload);
+    synchronized (this) {
+      if (index.containsKey(matchId)) {
+        return false;
+      }
+      try {
+        if (activeSegment.size >= segmentMaxBytes) {
+          rollSegment();
+        }
+        long offset = activeSegment.append(record);
+        index.put(matchId, new Location(activeSegment.id, offset, record.limit()));
+        writes.increment();
+        return true;
+      } catch (IOException e) {
+        log.error("Failed to write match {} to store", matchId, e);
+        return false;
+      }
+    }
+  }
+
+  public Map<String, Object> describe() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("enabled", enabled);
+    result.put("matches", index.size());
+    result.put("segments", segments.size());
+    result.put("hits", hits.sum());
+    result.put("misses", misses.sum());
+    result.put("writes", writes.sum());
+    synchronized (this) {
+      result.put("sizeBytes", segments.stream().mapToLong(s -> s.size).sum());
+    }
+    return result;
+  }
+
+  private void rollSegment() throws IOException {
+    if (activeSegment != null) {
+      activeSegment.seal();
+    }
+    // Numbered after the highest existing file, so a gap in the numbering never reopens a segment
+    Path file = Paths.get(directory).resolve(String.format("%s%05d%s", SEGMENT_PREFIX, nextFileNumber++, SEGMENT_SUFFIX));
+    Segment segment = new Segment(segments.size(), file, false);
+    segments.add(segment);
+    activeSegment = segment;
+  }
+
+  private static int fileNumber(Path file) {
+    String name = file.getFileName().toString();
+    try {
+      return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Index a segment's records. Only the last segment can hold a torn write, so only its tail is
+   * truncated; damage in an earlier segment is logged and the file left as it is.
+   */
+  private void loadIndex(Segment segment, boolean last) throws IOException {
+    long position = 0;
+    long skipped = 0;
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    while (position + HEADER_BYTES <= segment.size) {
+      header.clear();
+      segment.channel.read(header, position);
+      header.flip();
+      int length = header.getInt();
+      int crc = header.getInt();
+      long end = position + HEADER_BYTES + length;
+      if (length <= 0 || end > segment.size) {
+        // Without a usable length there is no way to find the next record
+        break;
+      }
+
+      ByteBuffer body = ByteBuffer.allocate(length);
+      segment.channel.read(body, position + HEADER_BYTES);
+      body.flip();
+      if (crc32(body) != crc) {
+        if (last && end == segment.size) {
+          break;
+        }
+        log.warn("Skipping corrupt {} byte record at offset {} of {}", HEADER_BYTES + length, position, segment.file);
+        skipped++;
+        position = end;
+        continue;
+      }
+
+      byte[] id = new byte[body.getShort()];
+      body.get(id);
+      index.put(new String(id, StandardCharsets.UTF_8), new Location(segment.id, position, HEADER_BYTES + length));
+      position = end;
+    }
+
+    if (position < segment.size) {
+      if (last) {
+        log.warn("Truncating {} bytes of incomplete data from {}", segment.size - position, segment.file);
+        segment.channel.truncate(position);
+        segment.size = position;
+      } else {
+        log.error("Unreadable record at offset {} of {}; its remaining {} bytes are not indexed",
+          position, segment.file, segment.size - position);
+      }
+    }
+    if (skipped > 0) {
+      log.error("Skipped {} corrupt records in {}", skipped, segment.file);
+    }
+  }
+
+  private static ByteBuffer encodeRecord(String matchId, byte[] payload) {
+    byte[] id = matchId.getBytes(StandardCharsets.UTF_8);
+    byte[] compressed = deflate(payload);
+
+    int length = 2 + id.length + 4 + compressed.length;
+    ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + length);
+    record.position(HEADER_BYTES);
+    record.putShort((short) id.length);
+    record.put(id);
+    record.putInt(payload.length);
+    record.put(compressed);
+
+    record.position(HEADER_BYTES);
+    int crc = crc32(record);
+    record.putInt(0, length);
+    record.putInt(4, crc);
+    record.position(0);
+    return record;
+  }
+
+  private static byte[] decodeRecord(ByteBuffer record) throws DataFormatException {
+    record.position(HEADER_BYTES);
+    int idLength = record.getShort();
+    record.position(record.position() + idLength);
+    int rawLength = record.getInt();
+
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(record);
+      byte[] payload = new byte[rawLength];
+      int read = 0;
+      while (read < rawLength) {
+        int n = inflater.inflate(payload, read, rawLength - read);
+        if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new DataFormatException("Truncated match record");
+        }
+        read += n;
+      }
+      return payload;
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static byte[] deflate(byte[] payload) {
+    Deflater deflater = new Deflater();
+    try {
+      deflater.setInput(payload);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 4 + 64);
+      byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        int n = deflater.deflate(buffer);
+        out.write(buffer, 0, n);
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static int crc32(ByteBuffer buffer) {
+    CRC32 crc = new CRC32();
+    crc.update(buffer.duplicate());
+    return (int) crc.getValue();
+  }
+
+  private record Location(int segment, long offset, int length) {}
+
+  /**
+   * One segment file. A sealed segment no longer grows and is read through one read-only mapping
+   * of the whole file, made on first read; the active segment is read with positional reads, so
+   * appends never force a remap.
+   */
+  private static final class Segment {
+    final int id;
+    final Path file;
+    final FileChannel channel;
+    volatile long size;
+    private volatile boolean sealed;
+    private volatile MappedByteBuffer mapped;
+
+    Segment(int id, Path file, boolean sealed) throws IOException {
+      this.id = id;
+      this.file = file;
+      this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      this.size = channel.size();
+      this.sealed = sealed;
+    }
+
+    void seal() {
+      sealed = true;
+    }
+
+    long append(ByteBuffer record) throws IOException {
+      long offset = size;
+      long position = offset;
+      while (record.hasRemaining()) {
+        position += channel.write(record, position);
+      }
+      size = position;
+      return offset;
+    }
+
+    ByteBuffer read(long offset, int length) throws IOException {
+      if (offset + length > size) {
+        throw new IOException("Record beyond end of segment " + file);
+      }
+      if (!sealed) {
+        ByteBuffer record = ByteBuffer.allocate(length);
+        while (record.hasRemaining()) {
+          if (channel.read(record, offset + record.position()) < 0) {
+            throw new IOException("Unexpected end of segment " + file);
+          }
+        }
+        return record.flip();
+      }
+      MappedByteBuffer current = mapped;
+      if (current == null) {
+        current = map();
+      }
+      return current.slice((int) offset, length);
+    }
+
+    private synchronized MappedByteBuffer map() throws IOException {
+      if (mapped == null) {
+        if (size > Integer.MAX_VALUE) {
+          throw new IOException("Segment too large to map: " + file);
+        }
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      }
+      return mapped;
+    }
+  }
+}
@@ -0,0 +1,374 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.MatchTimeline;
+import com.edwardjtan.riot.model.TimelineFrames;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming reader for match-v5 timelines (1-3 MB each) into a {@link MatchTimeline}.
+ *
+ * One pass over the JSON with no tree built: each event's fields are read into locals and the
+ * event is kept only if it is a kill, an objective or an item purchase, and each participant frame
+ * contributes its gold, XP, CS and position to the frame columns. Ward, skill and level-up events,
+ * the per-kill damage breakdowns and the per-frame champion and damage stats are skipped token by
+ * token. Enum-like strings (event and monster types) are matched in place, without building a
+ * String.
+ */
+public final class MatchTimelineReader {
+
+  private static final String[] EVENT_TYPES = {
+    "CHAMPION_KILL", "CHAMPION_SPECIAL_KILL", "ELITE_MONSTER_KILL", "BUILDING_KILL", "ITEM_PURCHASED"
+  };
+  private static final int EVENT_CHAMPION_KILL = 0;
+  private static final int EVENT_SPECIAL_KILL = 1;
+  private static final int EVENT_MONSTER_KILL = 2;
+  private static final int EVENT_BUILDING_KILL = 3;
+  private static final int EVENT_ITEM_PURCHASED = 4;
+
+  private static final String[] KILL_TYPES = {"KILL_MULTI", "KILL_FIRST_BLOOD"};
+  // Same order as MatchTimeline.MONSTERS from index 1; dragons are told apart by monsterSubType
+  private static final String[] MONSTER_TYPES = {"BARON_NASHOR", "RIFTHERALD", "HORDE", "ATAKHAN", "DRAGON"};
+  private static final String[] DRAGON_TYPES = {
+    "AIR_DRAGON", "EARTH_DRAGON", "FIRE_DRAGON", "WATER_DRAGON", "HEXTECH_DRAGON", "CHEMTECH_DRAGON", "ELDER_DRAGON"
+  };
+  private static final String[] BUILDING_TYPES = {"TOWER_BUILDING", "INHIBITOR_BUILDING"};
+  private static final String[] LANE_TYPES = {"TOP_LANE", "MID_LANE", "BOT_LANE"};
+
+  private final ObjectMapper objectMapper;
+
+  public MatchTimelineReader(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public MatchTimeline read(byte[] json) throws IOException {
+    Scan scan = new Scan();
+    try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+      expect(parser.nextToken(), JsonToken.START_OBJECT);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if ("metadata".equals(field) && value == JsonToken.START_OBJECT) {
+          readMetadata(parser, scan);
+        } else if ("info".equals(field) && value == JsonToken.START_OBJECT) {
+          readInfo(parser, scan);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    if (scan.puuids == null) {
+      throw new IOException("Timeline has no participants");
+    }
+    return scan.toTimeline();
+  }
+
+  private void readMetadata(JsonParser parser, Scan scan) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if ("matchId".equals(field)) {
+        scan.matchId = parser.getValueAsString();
+      } else if ("participants".equals(field) && value == JsonToken.START_ARRAY) {
+        List<String> puuids = new ArrayList<>(10);
+        while (parser.nextToken() == JsonToken.VALUE_STRING) {
+          puuids.add(parser.getText());
+        }
+        scan.puuids = puuids.toArray(new String[0]);
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void readInfo(JsonParser parser, Scan scan) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if ("frameInterval".equals(field)) {
+        scan.frameInterval = parser.getValueAsLong();
+      } else if ("frames".equals(field) && value == JsonToken.START_ARRAY) {
+        if (scan.puuids == null) {
+          throw new IOException("Timeline frames come before its participants");
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          readFrame(parser, scan);
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void readFrame(JsonParser parser, Scan scan) throws IOException {
+    int frame = scan.startFrame();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if ("events".equals(field) && value == JsonToken.START_ARRAY) {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          readEvent(parser, scan);
+        }
+      } else if ("participantFrames".equals(field) && value == JsonToken.START_OBJECT) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          int participantId = parseParticipantKey(parser.currentName());
+          parser.nextToken();
+          readParticipantFrame(parser, scan, frame, participantId);
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void readParticipantFrame(JsonParser parser, Scan scan, int frame, int participantId) throws IOException {
+    if (participantId < 1 || participantId > scan.puuids.length) {
+      parser.skipChildren();
+      return;
+    }
+    int slot = frame * scan.puuids.length + participantId - 1;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if (value == JsonToken.VALUE_NUMBER_INT) {
+        switch (field) {
+          case "totalGold" -> scan.gold[slot] = parser.getIntValue();
+          case "xp" -> scan.xp[slot] = parser.getIntValue();
+          case "minionsKilled", "jungleMinionsKilled" -> scan.cs[slot] += parser.getIntValue();
+          default -> {
+            // currentGold, level, goldPerSecond, ...
+          }
+        }
+      } else if ("position".equals(field) && value == JsonToken.START_OBJECT) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String axis = parser.currentName();
+          parser.nextToken();
+          if ("x".equals(axis)) {
+            scan.x[slot] = parser.getValueAsInt();
+          } else if ("y".equals(axis)) {
+            scan.y[slot] = parser.getValueAsInt();
+          } else {
+            parser.skipChildren();
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void readEvent(JsonParser parser, Scan scan) throws IOException {
+    int type = -1;
+    int timestamp = 0;
+    int killerId = 0;
+    int victimId = 0;
+    int participantId = 0;
+    int teamId = 0;
+    int killerTeamId = 0;
+    int assists = 0;
+    int itemId = 0;
+    int killType = -1;
+    int multiKillLength = 0;
+    int monsterType = -1;
+    int dragonType = -1;
+    int buildingType = -1;
+    int laneType = -1;
+    boolean nexusTower = false;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      switch (field) {
+        case "type" -> type = code(parser, value, EVENT_TYPES);
+        case "timestamp" -> timestamp = parser.getValueAsInt();
+        case "killerId" -> killerId = parser.getValueAsInt();
+        case "victimId" -> victimId = parser.getValueAsInt();
+        case "participantId" -> participantId = parser.getValueAsInt();
+        case "teamId" -> teamId = parser.getValueAsInt();
+        case "killerTeamId" -> killerTeamId = parser.getValueAsInt();
+        case "itemId" -> itemId = parser.getValueAsInt();
+        case "killType" -> killType = code(parser, value, KILL_TYPES);
+        case "multiKillLength" -> multiKillLength = parser.getValueAsInt();
+        case "monsterType" -> monsterType = code(parser, value, MONSTER_TYPES);
+        case "monsterSubType" -> dragonType = code(parser, value, DRAGON_TYPES);
+        case "buildingType" -> buildingType = code(parser, value, BUILDING_TYPES);
+        case "laneType" -> laneType = code(parser, value, LANE_TYPES);
+        case "towerType" -> nexusTower = value == JsonToken.VALUE_STRING && regionEquals(parser, "NEXUS_TURRET");
+        case "assistingParticipantIds" -> {
+          if (value == JsonToken.START_ARRAY) {
+            while (parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+              int id = parser.getIntValue();
+              if (id > 0 && id < 32) {
+                assists |= 1 << id;
+              }
+            }
+          }
+        }
+        default -> parser.skipChildren();
+      }
+    }
+
+    switch (type) {
+      case EVENT_CHAMPION_KILL -> scan.addEvent(MatchTimeline.CHAMPION_KILL, timestamp, killerId, victimId, assists, 0);
+      case EVENT_SPECIAL_KILL -> {
+        if (killType == 0 && multiKillLength >= 2) {
+          scan.addEvent(MatchTimeline.MULTI_KILL, timestamp, killerId, 0, 0, multiKillLength);
+        } else if (killType == 1) {
+          scan.addEvent(MatchTimeline.FIRST_BLOOD, timestamp, killerId, 0, 0, 0);
+        }
+      }
+      case EVENT_MONSTER_KILL -> {
+        int monster;
+        if (monsterType == 4) {
+          monster = dragonType >= 0 ? 5 + dragonType : 0;
+        } else {
+          monster = monsterType >= 0 ? 1 + monsterType : 0;
+        }
+        scan.addEvent(MatchTimeline.ELITE_MONSTER_KILL, timestamp, killerId, killerTeamId, 0, monster);
+      }
+      case EVENT_BUILDING_KILL -> {
+        if (buildingType >= 0) {
+          int structure = nexusTower ? 2 : buildingType;
+          int lane = nexusTower || laneType < 0 ? 0 : laneType + 1;
+          scan.addEvent(MatchTimeline.BUILDING_KILL, timestamp, killerId, teamId, assists,
+            MatchTimeline.buildingDetail(structure, lane));
+        }
+      }
+      case EVENT_ITEM_PURCHASED -> scan.addEvent(MatchTimeline.ITEM_PURCHASED, timestamp, participantId, 0, 0, itemId);
+      default -> {
+        // Wards, skill and level ups, item sells/undos, pauses: not kept
+      }
+    }
+  }
+
+  private static int parseParticipantKey(String key) {
+    try {
+      return Integer.parseInt(key);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Index of the current string value in {@code table}, or -1 (also for non-string values).
+   */
+  private static int code(JsonParser parser, JsonToken value, String[] table) throws IOException {
+    if (value != JsonToken.VALUE_STRING) {
+      parser.skipChildren();
+      return -1;
+    }
+    for (int i = 0; i < table.length; i++) {
+      if (regionEquals(parser, table[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean regionEquals(JsonParser parser, String expected) throws IOException {
+    int length = parser.getTextLength();
+    if (length != expected.length()) {
+      return false;
+    }
+    char[] text = parser.getTextCharacters();
+    int offset = parser.getTextOffset();
+    for (int i = 0; i < length; i++) {
+      if (text[offset + i] != expected.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+    if (actual != expected) {
+      throw new IOException("Expected " + expected + " but found " + actual);
+    }
+  }
+
+  /**
+   * Per-read state: growable event columns, and frame columns filled frame by frame (as they
+   * appear in the JSON) and transposed to one run per participant at the end.
+   */
+  private static final class Scan {
+    String matchId;
+    String[] puuids;
+    long frameInterval = 60_000;
+
+    int eventCount;
+    byte[] types = new byte[256];
+    int[] timestamps = new int[256];
+    int[] actors = new int[256];
+    int[] targets = new int[256];
+    int[] assists = new int[256];
+    int[] details = new int[256];
+
+    int frameCount;
+    int[] gold = new int[0];
+    int[] xp = new int[0];
+    int[] cs = new int[0];
+    int[] x = new int[0];
+    int[] y = new int[0];
+
+    void addEvent(int type, int timestamp, int actor, int target, int assistMask, int detail) {
+      if (eventCount == types.length) {
+        int capacity = eventCount * 2;
+        types = Arrays.copyOf(types, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        actors = Arrays.copyOf(actors, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        assists = Arrays.copyOf(assists, capacity);
+        details = Arrays.copyOf(details, capacity);
+      }
+      types[eventCount] = (byte) type;
+      timestamps[eventCount] = timestamp;
+      actors[eventCount] = actor;
+      targets[eventCount] = target;
+      assists[eventCount] = assistMask;
+      details[eventCount] = detail;
+      eventCount++;
+    }
+
+    int startFrame() {
+      int needed = (frameCount + 1) * puuids.length;
+      if (needed > gold.length) {
+        // A game is usually 20-40 frames
+        int capacity = Math.max(needed, Math.max(40 * puuids.length, gold.length * 2));
+        gold = Arrays.copyOf(gold, capacity);
+        xp = Arrays.copyOf(xp, capacity);
+        cs = Arrays.copyOf(cs, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+      }
+      return frameCount++;
+    }
+
+    MatchTimeline toTimeline() {
+      TimelineFrames frames = new TimelineFrames(puuids.length, frameCount, frameInterval,
+        byParticipant(gold), byParticipant(xp), byParticipant(cs), byParticipant(x), byParticipant(y));
+      return new MatchTimeline(matchId, puuids, eventCount,
+        Arrays.copyOf(types, eventCount), Arrays.copyOf(timestamps, eventCount),
+        Arrays.copyOf(actors, eventCount), Arrays.copyOf(targets, eventCount),
+        Arrays.copyOf(assists, eventCount), Arrays.copyOf(details, eventCount),
+        frames);
+    }
+
+    // [frame * participants + p] -> [p * frameCount + frame]
+    private int[] byParticipant(int[] byFrame) {
+      int participants = puuids.length;
+      int[] result = new int[participants * frameCount];
+      for (int frame = 0; frame < frameCount; frame++) {
+        for (int p = 0; p < participants; p++) {
+          result[p * frameCount + frame] = byFrame[frame * participants + p];
+        }
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,228 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.MatchData;
+import com.edwardjtan.riot.model.ParticipantSlice;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Streaming reader for match-v5 payloads that only materializes the participants a caller asks for.
+ *
+ * One pass over the JSON reads the match-level fields and, for each participant, just its PUUID
+ * (compared in place, without building a String) and its position fields, recording where the
+ * participant object starts and ends. Everything else, including the large {@code challenges},
+ * {@code perks} and {@code missions} objects, is skipped token by token. Only the selected player
+ * and opponent are then data-bound, from their own byte ranges.
+ */
+public final class MatchV5Reader {
+
+  private final ObjectMapper objectMapper;
+
+  public MatchV5Reader(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Read the participant with {@code puuid} and, if requested, their lane opponent: the first
+   * participant on the other team with the same position, else the first participant on the other team.
+   */
+  public ParticipantSlice read(byte[] json, String puuid, boolean withLaneOpponent) throws IOException {
+    Scan scan = new Scan(puuid.toCharArray());
+    try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+      expect(parser.nextToken(), JsonToken.START_OBJECT);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if ("metadata".equals(field) && value == JsonToken.START_OBJECT) {
+          readMetadata(parser, scan);
+        } else if ("info".equals(field) && value == JsonToken.START_OBJECT) {
+          readInfo(parser, scan);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+
+    if (scan.playerIndex < 0) {
+      throw new RuntimeException("Player not found in match: " + scan.matchId);
+    }
+
+    MatchData.ParticipantDto player = bind(json, scan, scan.playerIndex);
+    MatchData.ParticipantDto opponent = null;
+    if (withLaneOpponent) {
+      int opponentIndex = scan.findLaneOpponent();
+      if (opponentIndex >= 0) {
+        opponent = bind(json, scan, opponentIndex);
+      }
+    }
+    return new ParticipantSlice(scan.matchId, scan.gameDuration, scan.gameCreation, player, opponent);
+  }
+
+  private void readMetadata(JsonParser parser, Scan scan) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      parser.nextToken();
+      if ("matchId".equals(field)) {
+        scan.matchId = parser.getValueAsString();
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void readInfo(JsonParser parser, Scan scan) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if ("gameDuration".equals(field)) {
+        scan.gameDuration = parser.getValueAsLong();
+      } else if ("gameCreation".equals(field)) {
+        scan.gameCreation = parser.getValueAsLong();
+      } else if ("participants".equals(field) && value == JsonToken.START_ARRAY) {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          readParticipant(parser, scan);
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void readParticipant(JsonParser parser, Scan scan) throws IOException {
+    int index = scan.startParticipant(parser.currentTokenLocation().getByteOffset());
+    int teamPosition = PositionCodes.ABSENT;
+    int individualPosition = PositionCodes.ABSENT;
+    int lane = PositionCodes.ABSENT;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if (value == JsonToken.VALUE_STRING) {
+        switch (field) {
+          case "puuid" -> {
+            if (scan.playerIndex < 0 && textEquals(parser, scan.puuid)) {
+              scan.playerIndex = index;
+            }
+          }
+          case "teamPosition" -> teamPosition = positionCode(parser, scan);
+          case "individualPosition" -> individualPosition = positionCode(parser, scan);
+          case "lane" -> lane = positionCode(parser, scan);
+          default -> {
+            // Scalar string we don't need; the parser never decodes it
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+
+    // Same precedence as MatchService.getBestPosition: teamPosition > individualPosition > lane
+    int best;
+    if (teamPosition >= PositionCodes.UNKNOWN) {
+      best = teamPosition;
+    } else if (individualPosition >= PositionCodes.UNKNOWN) {
+      best = individualPosition;
+    } else if (lane >= PositionCodes.UNKNOWN || lane == PositionCodes.INVALID) {
+      // "Invalid" is only filtered out of the position fields, not out of lane
+      best = lane;
+    } else {
+      best = PositionCodes.UNKNOWN;
+    }
+    scan.endParticipant(best, parser.currentTokenLocation().getByteOffset() + 1);
+  }
+
+  private MatchData.ParticipantDto bind(byte[] json, Scan scan, int index) throws IOException {
+    int start = (int) scan.starts[index];
+    int end = (int) scan.ends[index];
+    return objectMapper.readValue(json, start, end - start, MatchData.ParticipantDto.class);
+  }
+
+  private static boolean textEquals(JsonParser parser, char[] expected) throws IOException {
+    if (parser.getTextLength() != expected.length) {
+      return false;
+    }
+    char[] text = parser.getTextCharacters();
+    int offset = parser.getTextOffset();
+    for (int i = 0; i < expected.length; i++) {
+      if (text[offset + i] != expected[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int positionCode(JsonParser parser, Scan scan) throws IOException {
+    return scan.positionCodes.code(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+  }
+
+  private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+    if (actual != expected) {
+      throw new IOException("Expected " + expected + " but found " + actual);
+    }
+  }
+
+  /**
+   * Per-read state: match fields plus one slot per participant in primitive arrays.
+   */
+  private static final class Scan {
+    final char[] puuid;
+    String matchId;
+    long gameDuration;
+    long gameCreation;
+    int playerIndex = -1;
+
+    int count;
+    long[] starts = new long[10];
+    long[] ends = new long[10];
+    int[] positions = new int[10];
+    final PositionCodes positionCodes = new PositionCodes();
+
+    Scan(char[] puuid) {
+      this.puuid = puuid;
+    }
+
+    int startParticipant(long offset) {
+      if (count == starts.length) {
+        starts = Arrays.copyOf(starts, count * 2);
+        ends = Arrays.copyOf(ends, count * 2);
+        positions = Arrays.copyOf(positions, count * 2);
+      }
+      starts[count] = offset;
+      return count;
+    }
+
+    void endParticipant(int position, long offset) {
+      positions[count] = position;
+      ends[count] = offset;
+      count++;
+    }
+
+    // Participants 0-4 are team 100 and 5-9 are team 200, as in MatchService.selectParticipants
+    private int team(int index) {
+      return index < 5 ? 100 : 200;
+    }
+
+    int findLaneOpponent() {
+      int playerTeam = team(playerIndex);
+      int playerPosition = positions[playerIndex];
+      int firstEnemy = -1;
+      for (int i = 0; i < count; i++) {
+        if (i == playerIndex || team(i) == playerTeam) {
+          continue;
+        }
+        if (firstEnemy < 0) {
+          firstEnemy = i;
+        }
+        // Equal codes are equal getBestPosition strings, whatever the string is
+        if (positions[i] == playerPosition) {
+          return i;
+        }
+      }
+      return firstEnemy;
+    }
+  }
+}
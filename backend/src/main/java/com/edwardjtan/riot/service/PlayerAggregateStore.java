@@ -0,0 +1,217 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.MatchData;
+import com.edwardjtan.riot.model.PlayerAggregates;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player aggregate stats, folded in one match at a time as {@link MatchService} loads matches.
+ *
+ * Each player keeps running sums overall, per champion and per role, plus a quantile sketch of
+ * per-game KDA, CS/min and gold/min per role; overall percentiles merge the role sketches. A match
+ * is folded once per player (tracked by match ID), so reading the same match again is a set
+ * lookup, and answering a query costs the same however many matches have been folded.
+ *
+ * Entries are weighed by an estimate of their size, which grows with the player's match ID set,
+ * and the store is bounded by {@code player.aggregates.max-weight-bytes} in total.
+ */
+@Component
+public class PlayerAggregateStore {
+
+  // Remakes end before 5 minutes and would skew the per-minute rates
+  private static final long MIN_GAME_SECONDS = 300;
+  private static final double SKETCH_ACCURACY = 0.01;
+  private static final String[] SKETCHED = {"kda", "csPerMin", "goldPerMin"};
+  // Rough per-entry sizes: the totals, maps and sketches of an aggregate, and one match ID in its set
+  private static final long AGGREGATE_OVERHEAD_BYTES = 8192;
+  private static final long MATCH_ID_BYTES = 96;
+
+  private final Cache<String, Aggregate> aggregates;
+  private final LongAdder folds = new LongAdder();
+
+  public PlayerAggregateStore(@Value("${player.aggregates.max-weight-bytes:134217728}") long maxWeightBytes,
+                              @Value("${player.aggregates.ttl:30d}") Duration ttl) {
+    this.aggregates = Caffeine.newBuilder()
+      .maximumWeight(maxWeightBytes)
+      .weigher((String puuid, Aggregate aggregate) -> aggregate.weight())
+      .expireAfterAccess(ttl)
+      .build();
+  }
+
+  /**
+   * Fold a participant's game into their aggregates, unless that match is already counted.
+   */
+  public void record(String matchId, long gameDurationSeconds, MatchData.ParticipantDto participant) {
+    if (matchId == null || participant == null || participant.getPuuid() == null
+        || gameDurationSeconds < MIN_GAME_SECONDS) {
+      return;
+    }
+    Aggregate aggregate = aggregates.get(participant.getPuuid(), puuid -> new Aggregate());
+    synchronized (aggregate) {
+      if (!aggregate.matchIds.add(matchId)) {
+        return;
+      }
+      aggregate.fold(gameDurationSeconds, participant);
+      folds.increment();
+    }
+    // Caffeine weighs an entry when it is written, so write it back to count the new match ID
+    aggregates.asMap().replace(participant.getPuuid(), aggregate, aggregate);
+  }
+
+  /**
+   * Fold every participant of a match.
+   */
+  public void record(MatchData matchData) {
+    if (matchData == null || matchData.getInfo() == null || matchData.getInfo().getParticipants() == null) {
+      return;
+    }
+    String matchId = matchData.getMetadata().getMatchId();
+    for (MatchData.ParticipantDto participant : matchData.getInfo().getParticipants()) {
+      record(matchId, matchData.getInfo().getGameDuration(), participant);
+    }
+  }
+
+  /**
+   * The player's aggregates, or null if no match of theirs has been seen.
+   */
+  public PlayerAggregates get(String puuid) {
+    Aggregate aggregate = aggregates.getIfPresent(puuid);
+    if (aggregate == null) {
+      return null;
+    }
+    synchronized (aggregate) {
+      return aggregate.toModel(puuid);
+    }
+  }
+
+  public Map<String, Object> describe() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("players", aggregates.estimatedSize());
+    result.put("matchesFolded", folds.sum());
+    return result;
+  }
+
+  private static double kda(long kills, long deaths, long assists) {
+    return (double) (kills + assists) / Math.max(1, deaths);
+  }
+
+  /**
+   * Running sums over a set of games.
+   */
+  private static final class Totals {
+    long games;
+    long wins;
+    long kills;
+    long deaths;
+    long assists;
+    long creepScore;
+    long gold;
+    long seconds;
+
+    void add(long durationSeconds, MatchData.ParticipantDto p) {
+      games++;
+      wins += p.isWin() ? 1 : 0;
+      kills += p.getKills();
+      deaths += p.getDeaths();
+      assists += p.getAssists();
+      creepScore += p.getTotalMinionsKilled() + p.getNeutralMinionsKilled();
+      gold += p.getGoldEarned();
+      seconds += durationSeconds;
+    }
+
+    PlayerAggregates.StatLine toStatLine() {
+      PlayerAggregates.StatLine line = new PlayerAggregates.StatLine();
+      double minutes = seconds / 60.0;
+      line.setGames(games);
+      line.setWins(wins);
+      line.setWinRate(games == 0 ? 0 : (double) wins / games);
+      line.setKills(games == 0 ? 0 : (double) kills / games);
+      line.setDeaths(games == 0 ? 0 : (double) deaths / games);
+      line.setAssists(games == 0 ? 0 : (double) assists / games);
+      line.setKda(kda(kills, deaths, assists));
+      line.setCsPerMin(minutes == 0 ? 0 : creepScore / minutes);
+      line.setGoldPerMin(minutes == 0 ? 0 : gold / minutes);
+      return line;
+    }
+  }
+
+  private static final class Aggregate {
+    final Set<String> matchIds = new HashSet<>();
+    final Totals overall = new Totals();
+    final Map<String, Totals> byChampion = new HashMap<>();
+    final Map<String, Totals> byRole = new HashMap<>();
+    // role -> stat -> sketch
+    final Map<String, Map<String, QuantileSketch>> sketches = new HashMap<>();
+
+    synchronized int weight() {
+      return (int) Math.min(Integer.MAX_VALUE, AGGREGATE_OVERHEAD_BYTES + matchIds.size() * MATCH_ID_BYTES);
+    }
+
+    void fold(long durationSeconds, MatchData.ParticipantDto p) {
+      String champion = p.getChampionName() == null ? "Unknown" : p.getChampionName();
+      // Same resolution as opponent matching, so older matches without teamPosition still get a role
+      String role = MatchService.getBestPosition(p);
+
+      overall.add(durationSeconds, p);
+      byChampion.computeIfAbsent(champion, c -> new Totals()).add(durationSeconds, p);
+      byRole.computeIfAbsent(role, r -> new Totals()).add(durationSeconds, p);
+
+      double minutes = durationSeconds / 60.0;
+      Map<String, QuantileSketch> roleSketches = sketches.computeIfAbsent(role, r -> newSketches());
+      roleSketches.get("kda").add(kda(p.getKills(), p.getDeaths(), p.getAssists()));
+      roleSketches.get("csPerMin").add((p.getTotalMinionsKilled() + p.getNeutralMinionsKilled()) / minutes);
+      roleSketches.get("goldPerMin").add(p.getGoldEarned() / minutes);
+    }
+
+    PlayerAggregates toModel(String puuid) {
+      PlayerAggregates model = new PlayerAggregates();
+      model.setPuuid(puuid);
+      model.setOverall(overall.toStatLine());
+
+      Map<String, QuantileSketch> merged = newSketches();
+      for (Map<String, QuantileSketch> roleSketches : sketches.values()) {
+        for (String stat : SKETCHED) {
+          merged.get(stat).merge(roleSketches.get(stat));
+        }
+      }
+      Map<String, Map<String, Double>> percentiles = new LinkedHashMap<>();
+      for (String stat : SKETCHED) {
+        QuantileSketch sketch = merged.get(stat);
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put("p10", sketch.quantile(0.10));
+        values.put("p50", sketch.quantile(0.50));
+        values.put("p90", sketch.quantile(0.90));
+        percentiles.put(stat, values);
+      }
+      model.setPercentiles(percentiles);
+
+      Map<String, PlayerAggregates.StatLine> champions = new TreeMap<>();
+      byChampion.forEach((champion, totals) -> champions.put(champion, totals.toStatLine()));
+      model.setByChampion(champions);
+      Map<String, PlayerAggregates.StatLine> roles = new TreeMap<>();
+      byRole.forEach((role, totals) -> roles.put(role, totals.toStatLine()));
+      model.setByRole(roles);
+      return model;
+    }
+
+    private static Map<String, QuantileSketch> newSketches() {
+      Map<String, QuantileSketch> result = new HashMap<>();
+      for (String stat : SKETCHED) {
+        result.put(stat, new QuantileSketch(SKETCH_ACCURACY));
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.edwardjtan.riot.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Small integer codes for participant positions, for lane-opponent matching on primitive arrays.
+ *
+ * Two resolved positions ({@link MatchService#getBestPosition}) get the same code exactly when they
+ * are the same string, so matching codes pairs up the same participants as comparing the strings:
+ * standard positions, "Invalid" (only ever resolved from {@code lane}), "UNKNOWN" and any other
+ * value, such as a legacy lane like "MID_LANE", each get their own code. The standard ones are
+ * fixed; anything else is numbered as it is first seen, so one instance serves one match.
+ */
+final class PositionCodes {
+
+  private static final String[] KNOWN = {
+    "TOP", "JUNGLE", "MIDDLE", "BOTTOM", "UTILITY", "MID", "BOT", "SUPPORT"
+  };
+  // getBestPosition's fallback when no field has a usable position
+  static final int UNKNOWN = 0;
+  // Empty or "NONE": the field is skipped when resolving
+  static final int ABSENT = -1;
+  // Skipped in teamPosition and individualPosition, but a position of its own in lane
+  static final int INVALID = -2;
+  private static final int FIRST_OTHER = KNOWN.length + 1;
+
+  private List<String> others;
+
+  /**
+   * Code for a position string held in a parser's buffer, without allocating unless it is not a
+   * standard value.
+   */
+  int code(char[] text, int offset, int length) {
+    if (length == 0 || regionEquals(text, offset, length, "NONE")) {
+      return ABSENT;
+    }
+    if (regionEquals(text, offset, length, "Invalid")) {
+      return INVALID;
+    }
+    if (regionEquals(text, offset, length, "UNKNOWN")) {
+      return UNKNOWN;
+    }
+    for (int i = 0; i < KNOWN.length; i++) {
+      if (regionEquals(text, offset, length, KNOWN[i])) {
+        return i + 1;
+      }
+    }
+    return other(new String(text, offset, length));
+  }
+
+  /**
+   * Code for a position string, e.g. one already resolved by getBestPosition.
+   */
+  int code(String position) {
+    if (position == null || position.isEmpty() || "NONE".equals(position)) {
+      return ABSENT;
+    }
+    if ("Invalid".equals(position)) {
+      return INVALID;
+    }
+    if ("UNKNOWN".equals(position)) {
+      return UNKNOWN;
+    }
+    for (int i = 0; i < KNOWN.length; i++) {
+      if (KNOWN[i].equals(position)) {
+        return i + 1;
+      }
+    }
+    return other(position);
+  }
+
+  private int other(String position) {
+    if (others == null) {
+      others = new ArrayList<>(2);
+    }
+    int index = others.indexOf(position);
+    if (index < 0) {
+      index = others.size();
+      others.add(position);
+    }
+    return FIRST_OTHER + index;
+  }
+
+  private static boolean regionEquals(char[] text, int offset, int length, String expected) {
+    if (length != expected.length()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (text[offset + i] != expected.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,298 @@
+package com.edwardjtan.riot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Long-lived {@code api_comparison.py serve} processes that answer provider calls over stdin/stdout.
+ *
+ * Each request is one JSON line {"id", "op", ...} written to a worker's stdin; the worker answers
+ * with one JSON line {"id", "ok", "result" | "error"} on stdout, possibly out of order, since it
+ * handles up to {@code comparison.worker.concurrency} requests at once. Requests go to the worker
+ * with the fewest in flight. Workers are started on first use and restarted on the next request
+ * after they exit; requests pending on a dead worker fail immediately.
+ *
+ * Every request is timed as {@code python.worker.requests}, tagged with its op and outcome
+ * (success, error or timeout), from being written to the worker until its answer is read.
+ */
+@Component
+public class PythonWorkerPool {
+
+  private static final Logger log = LoggerFactory.getLogger(PythonWorkerPool.class);
+
+  private static final String PYTHON_SCRIPT = "src/main/python/api_comparison.py";
+  private static final String PYTHON_VENV = "src/main/python/venv/bin/python3";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Worker[] workers;
+  private final int concurrency;
+  private final Duration requestTimeout;
+  private final AtomicLong nextId = new AtomicLong();
+  private final MeterRegistry meterRegistry;
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder starts = new LongAdder();
+
+  public PythonWorkerPool(@Value("${comparison.worker.count:2}") int count,
+                          @Value("${comparison.worker.concurrency:4}") int concurrency,
+                          @Value("${comparison.worker.request-timeout:150s}") Duration requestTimeout,
+                          MeterRegistry meterRegistry) {
+    this.workers = new Worker[Math.max(1, count)];
+    for (int i = 0; i < workers.length; i++) {
+      workers[i] = new Worker(i);
+    }
+    this.concurrency = Math.max(1, concurrency);
+    this.requestTimeout = requestTimeout;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    for (Worker worker : workers) {
+      worker.stop();
+    }
+  }
+
+  /**
+   * Send a request to a worker and wait for its result.
+   *
+   * @param op the worker operation ("compare", "anthropic" or "openai")
+   * @param arguments request fields besides id and op; null values are left out
+   * @return the "result" of a successful response
+   */
+  public JsonNode call(String op, Map<String, Object> arguments) {
+    try {
+      return submit(op, arguments, requestTimeout).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof TimeoutException) {
+        throw new IllegalStateException("Python worker did not answer within " + requestTimeout, cause);
+      }
+      throw new IllegalStateException(cause.getMessage(), cause);
+    }
+  }
+
+  /**
+   * Send a request to a worker without waiting. The future fails with a TimeoutException if no
+   * answer arrives within the timeout. The timeout also goes to the worker as "timeoutSeconds",
+   * which cuts its provider calls off by then, so a hung provider does not keep holding one of the
+   * worker's concurrency slots after its answer would be dropped here.
+   */
+  public CompletableFuture<JsonNode> submit(String op, Map<String, Object> arguments, Duration timeout) {
+    long id = nextId.incrementAndGet();
+    ObjectNode request = objectMapper.createObjectNode();
+    request.put("id", id);
+    request.put("op", op);
+    request.put("timeoutSeconds", timeout.toMillis() / 1000.0);
+    arguments.forEach((name, value) -> {
+      if (value != null && !"".equals(value)) {
+        request.set(name, objectMapper.valueToTree(value));
+      }
+    });
+
+    requests.increment();
+    Timer.Sample sample = Timer.start(meterRegistry);
+    Worker worker = leastLoaded();
+    CompletableFuture<JsonNode> response = worker.send(id, request)
+      .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    return response
+      .handle((result, e) -> {
+        sample.stop(meterRegistry.timer("python.worker.requests", "op", op, "outcome", outcome(result, e)));
+        if (e != null) {
+          worker.pending.remove(id);
+          failures.increment();
+          throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+        }
+        if (!result.path("ok").asBoolean()) {
+          failures.increment();
+          throw new CompletionException(new IllegalStateException("Python worker error: " + result.path("error").asText()));
+        }
+        return result.get("result");
+      });
+  }
+
+  public Map<String, Object> describe() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("workers", workers.length);
+    result.put("concurrencyPerWorker", concurrency);
+    result.put("requests", requests.sum());
+    result.put("failures", failures.sum());
+    result.put("processStarts", starts.sum());
+    List<Map<String, Object>> perWorker = new ArrayList<>();
+    for (Worker worker : workers) {
+      Map<String, Object> w = new LinkedHashMap<>();
+      w.put("alive", worker.isAlive());
+      w.put("inFlight", worker.pending.size());
+      perWorker.add(w);
+    }
+    result.put("perWorker", perWorker);
+    return result;
+  }
+
+  private static String outcome(JsonNode result, Throwable e) {
+    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    if (cause instanceof TimeoutException) {
+      return "timeout";
+    }
+    return cause == null && result.path("ok").asBoolean() ? "success" : "error";
+  }
+
+  private Worker leastLoaded() {
+    Worker best = workers[0];
+    for (Worker worker : workers) {
+      if (worker.pending.size() < best.pending.size()) {
+        best = worker;
+      }
+    }
+    return best;
+  }
+
+  private List<String> command() {
+    // Use virtual environment Python if it exists, otherwise fall back to system python3
+    String pythonExecutable = new File(PYTHON_VENV).exists() ? PYTHON_VENV : "python3";
+    return List.of(pythonExecutable, PYTHON_SCRIPT, "serve", "--concurrency", String.valueOf(concurrency));
+  }
+
+  /**
+   * One worker process, its stdin writer and the requests waiting on its stdout.
+   */
+  private final class Worker {
+    final int index;
+    final Map<Long, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+    private Process process;
+    private Writer stdin;
+
+    Worker(int index) {
+      this.index = index;
+    }
+
+    synchronized boolean isAlive() {
+      return process != null && process.isAlive();
+    }
+
+    synchronized CompletableFuture<JsonNode> send(long id, ObjectNode request) {
+      CompletableFuture<JsonNode> response = new CompletableFuture<>();
+      try {
+        ensureStarted();
+        pending.put(id, response);
+        stdin.write(objectMapper.writeValueAsString(request));
+        stdin.write('\n');
+        stdin.flush();
+      } catch (IOException e) {
+        pending.remove(id);
+        response.completeExceptionally(new IOException("Failed to send request to Python worker " + index, e));
+      }
+      return response;
+    }
+
+    synchronized void stop() {
+      if (process != null) {
+        process.destroy();
+      }
+    }
+
+    private void ensureStarted() throws IOException {
+      if (process != null && process.isAlive()) {
+        return;
+      }
+      if (!pending.isEmpty()) {
+        // The previous process died before its reader noticed; nothing will answer these
+        IOException failure = new IOException("Python worker exited with code: " + process.exitValue());
+        pending.values().forEach(f -> f.completeExceptionally(failure));
+        pending.clear();
+      }
+      Process started = new ProcessBuilder(command()).start();
+      process = started;
+      stdin = new OutputStreamWriter(started.getOutputStream(), StandardCharsets.UTF_8);
+      starts.increment();
+      log.info("Started Python worker {} (pid {})", index, started.pid());
+
+      Thread.ofVirtual().name("python-worker-" + index + "-out").start(() -> readResponses(started));
+      Thread.ofVirtual().name("python-worker-" + index + "-err").start(() -> drainStderr(started));
+    }
+
+    private void readResponses(Process owner) {
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(owner.getInputStream(), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          JsonNode response;
+          try {
+            response = objectMapper.readTree(line);
+          } catch (IOException e) {
+            log.warn("Ignoring malformed line from Python worker {}: {}", index, line);
+            continue;
+          }
+          JsonNode id = response.get("id");
+          CompletableFuture<JsonNode> waiting = id == null || id.isNull() ? null : pending.remove(id.asLong());
+          if (waiting != null) {
+            waiting.complete(response);
+          } else {
+            log.warn("Python worker {} answered an unknown request: {}", index, line);
+          }
+        }
+      } catch (IOException e) {
+        log.debug("Python worker {} stdout closed", index, e);
+      }
+
+      int exitCode = waitForExit(owner);
+      log.warn("Python worker {} exited with code {}, failing {} pending requests", index, exitCode, pending.size());
+      IOException failure = new IOException("Python worker exited with code: " + exitCode);
+      synchronized (this) {
+        if (process == owner) {
+          // Only requests sent to this process can be waiting on it; a restarted process has none yet
+          pending.values().forEach(f -> f.completeExceptionally(failure));
+          pending.clear();
+        }
+      }
+    }
+
+    private void drainStderr(Process owner) {
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(owner.getErrorStream(), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          log.info("[python-worker-{}] {}", index, line);
+        }
+      } catch (IOException e) {
+        log.debug("Python worker {} stderr closed", index, e);
+      }
+    }
+
+    private int waitForExit(Process owner) {
+      try {
+        return owner.waitFor();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return -1;
+      }
+    }
+  }
+}
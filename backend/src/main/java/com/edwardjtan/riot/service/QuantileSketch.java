@@ -0,0 +1,143 @@
+package com.edwardjtan.riot.service;
+
+/**
+ * Mergeable quantile sketch for non-negative values with a fixed relative error.
+ *
+ * Values are counted in logarithmic buckets (bucket i covers (gamma^(i-1), gamma^i]), so any
+ * quantile is answered to within {@code relativeAccuracy} of the true value, in space that grows
+ * with the range of values rather than their number. Two sketches with the same accuracy merge by
+ * adding bucket counts, which is what lets per-champion and per-role sketches be folded together.
+ * Not thread-safe; callers synchronize.
+ */
+public final class QuantileSketch {
+
+  // Anything this small counts as zero (e.g. 0 CS on a support)
+  private static final double MIN_INDEXABLE = 1e-9;
+
+  private final double relativeAccuracy;
+  private final double gamma;
+  private final double logGamma;
+
+  // counts[i] is bucket (offset + i)
+  private long[] counts = new long[0];
+  private int offset;
+  private long zeroCount;
+  private long count;
+
+  public QuantileSketch(double relativeAccuracy) {
+    this.relativeAccuracy = relativeAccuracy;
+    this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+    this.logGamma = Math.log(gamma);
+  }
+
+  public void add(double value) {
+    count++;
+    if (value <= MIN_INDEXABLE) {
+      zeroCount++;
+      return;
+    }
+    int index = (int) Math.ceil(Math.log(value) / logGamma);
+    ensureCovers(index);
+    counts[index - offset]++;
+  }
+
+  public void merge(QuantileSketch other) {
+    if (other.relativeAccuracy != relativeAccuracy) {
+      throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+    }
+    if (other.counts.length > 0) {
+      ensureCovers(other.offset);
+      ensureCovers(other.offset + other.counts.length - 1);
+      for (int i = 0; i < other.counts.length; i++) {
+        counts[other.offset + i - offset] += other.counts[i];
+      }
+    }
+    zeroCount += other.zeroCount;
+    count += other.count;
+  }
+
+  public long count() {
+    return count;
+  }
+
+  /**
+   * Value at quantile q (0..1), or NaN when the sketch is empty.
+   */
+  public double quantile(double q) {
+    if (count == 0) {
+      return Double.NaN;
+    }
+    long rank = (long) Math.floor(Math.max(0, Math.min(1, q)) * (count - 1));
+    if (rank < zeroCount) {
+      return 0;
+    }
+    long seen = zeroCount;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen > rank) {
+        // Midpoint of the bucket in relative terms, which bounds the error on both sides
+        return 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+      }
+    }
+    return 2 * Math.pow(gamma, offset + counts.length - 1) / (gamma + 1);
+  }
+
+  /**
+   * Immutable snapshot for rank lookups: {@link Cdf#rank} costs one log and an array read,
+   * however many values were added.
+   */
+  public Cdf cdf() {
+    double[] cumulative = new double[counts.length];
+    long seen = zeroCount;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      cumulative[i] = count == 0 ? 0 : (double) seen / count;
+    }
+    return new Cdf(logGamma, offset, count == 0 ? 0 : (double) zeroCount / count, cumulative, count);
+  }
+
+  /**
+   * Mid-rank of a value: the fraction of values below its bucket plus half of those in it, so a
+   * value in the middle of the distribution ranks 0.5 even when many values share its bucket.
+   */
+  public record Cdf(double logGamma, int offset, double zeroFraction, double[] cumulative, long count) {
+    public double rank(double value) {
+      if (count == 0) {
+        return Double.NaN;
+      }
+      if (value <= MIN_INDEXABLE) {
+        return zeroFraction / 2;
+      }
+      int i = (int) Math.ceil(Math.log(value) / logGamma) - offset;
+      if (i < 0) {
+        return zeroFraction;
+      }
+      if (i >= cumulative.length) {
+        return 1.0;
+      }
+      double below = i == 0 ? zeroFraction : cumulative[i - 1];
+      return (below + cumulative[i]) / 2;
+    }
+  }
+
+  private void ensureCovers(int index) {
+    if (counts.length == 0) {
+      counts = new long[16];
+      offset = index - 8;
+      return;
+    }
+    int low = Math.min(offset, index);
+    int high = Math.max(offset + counts.length - 1, index);
+    if (low == offset && high == offset + counts.length - 1) {
+      return;
+    }
+    // Grow with some headroom on the side that overflowed, so a slowly widening range doesn't copy on every add
+    int slack = Math.max(8, counts.length / 2);
+    int newLow = low < offset ? low - slack : offset;
+    int newHigh = high > offset + counts.length - 1 ? high + slack : offset + counts.length - 1;
+    long[] grown = new long[newHigh - newLow + 1];
+    System.arraycopy(counts, 0, grown, offset - newLow, counts.length);
+    counts = grown;
+    offset = newLow;
+  }
+}
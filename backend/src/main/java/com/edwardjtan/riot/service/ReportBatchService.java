@@ -0,0 +1,292 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.GameAnalysis;
+import com.edwardjtan.riot.model.MatchData;
+import com.edwardjtan.riot.model.ReportBatchEntry;
+import com.edwardjtan.riot.model.ReportBatchJob;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Generates reports for many (match, player) pairs, e.g. a whole team after a scrim.
+ *
+ * Each entry is one task on a fixed-size pool with a bounded queue. The pool size caps how many
+ * Claude calls a batch makes at once, so keep it within the Anthropic rate limit; a batch that
+ * does not fit in the queue is rejected as a whole rather than partly accepted. Entries of a job
+ * that share a match fetch it once. Jobs are kept for polling for {@code report.batch.retention}.
+ */
+@Service
+public class ReportBatchService {
+
+  private static final Logger log = LoggerFactory.getLogger(ReportBatchService.class);
+
+  private final MatchService matchService;
+  private final GameAnalysisService gameAnalysisService;
+  private final ClaudeService claudeService;
+
+  private final ThreadPoolExecutor executor;
+  private final Cache<String, Job> jobs;
+
+  public ReportBatchService(MatchService matchService,
+                            GameAnalysisService gameAnalysisService,
+                            ClaudeService claudeService,
+                            @Value("${report.batch.concurrency:4}") int concurrency,
+                            @Value("${report.batch.queue-capacity:200}") int queueCapacity,
+                            @Value("${report.batch.retention:1h}") Duration retention) {
+    this.matchService = matchService;
+    this.gameAnalysisService = gameAnalysisService;
+    this.claudeService = claudeService;
+    this.executor = new ThreadPoolExecutor(
+      concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(queueCapacity),
+      Thread.ofVirtual().name("report-batch-", 0).factory(),
+      new ThreadPoolExecutor.AbortPolicy());
+    this.jobs = Caffeine.newBuilder()
+      .expireAfterWrite(retention)
+      .build();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Queue a report for every entry. Repeated (matchId, puuid) pairs are generated once.
+   *
+   * @throws IllegalArgumentException if the batch is empty or an entry lacks a matchId or puuid
+   * @throws RejectedExecutionException if the queue has no room for the whole batch
+   */
+  public ReportBatchJob submit(List<ReportBatchEntry> requested) {
+    if (requested == null || requested.isEmpty()) {
+      throw new IllegalArgumentException("Batch has no entries");
+    }
+    Set<List<String>> distinct = new LinkedHashSet<>();
+    for (ReportBatchEntry entry : requested) {
+      if (isBlank(entry.getMatchId()) || isBlank(entry.getPuuid())) {
+        throw new IllegalArgumentException("Every entry needs a matchId and a puuid");
+      }
+      distinct.add(List.of(entry.getMatchId(), entry.getPuuid()));
+    }
+
+    Job job = new Job(UUID.randomUUID().toString());
+    for (List<String> pair : distinct) {
+      job.slots.add(new Slot(pair.get(0), pair.get(1)));
+    }
+
+    synchronized (executor) {
+      if (executor.getQueue().remainingCapacity() < job.slots.size()) {
+        throw new RejectedExecutionException("Report queue is full (" + executor.getQueue().size() + " waiting)");
+      }
+      jobs.put(job.id, job);
+      for (Slot slot : job.slots) {
+        executor.execute(() -> run(job, slot));
+      }
+    }
+    log.info("Queued report batch {} with {} entries ({} matches)", job.id, job.slots.size(),
+      job.slots.stream().map(s -> s.matchId).distinct().count());
+    return job.snapshot();
+  }
+
+  /**
+   * Current state of a job, or null if it is unknown or has expired.
+   */
+  public ReportBatchJob getJob(String jobId) {
+    Job job = jobs.getIfPresent(jobId);
+    return job == null ? null : job.snapshot();
+  }
+
+  /**
+   * Hand every finished entry of a job to {@code onEntry}: those already finished right away, the
+   * rest as they finish. Returns null for an unknown job, otherwise a future completed with the
+   * final snapshot once every entry has finished.
+   */
+  public CompletableFuture<ReportBatchJob> subscribe(String jobId, Consumer<ReportBatchEntry> onEntry) {
+    Job job = jobs.getIfPresent(jobId);
+    if (job == null) {
+      return null;
+    }
+    synchronized (job) {
+      for (Slot slot : job.slots) {
+        if (slot.announced) {
+          onEntry.accept(slot.toEntry());
+        }
+      }
+      job.listeners.add(onEntry);
+    }
+    return job.done;
+  }
+
+  public Map<String, Object> describe() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("concurrency", executor.getMaximumPoolSize());
+    result.put("running", executor.getActiveCount());
+    result.put("queued", executor.getQueue().size());
+    result.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+    result.put("completedTasks", executor.getCompletedTaskCount());
+    result.put("jobs", jobs.estimatedSize());
+    return result;
+  }
+
+  private void run(Job job, Slot slot) {
+    slot.status = "running";
+    long start = System.nanoTime();
+    try {
+      MatchData matchData = job.match(slot.matchId, matchService);
+      GameAnalysis analysis = gameAnalysisService.analyzeMatch(matchData, slot.puuid);
+      slot.report = claudeService.generateGameReport(analysis);
+      slot.durationMillis = (System.nanoTime() - start) / 1_000_000;
+      slot.status = "done";
+    } catch (Exception e) {
+      Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+      log.error("Batch {} failed to generate report for match {} and PUUID {}", job.id, slot.matchId, slot.puuid, cause);
+      slot.error = cause.getMessage();
+      slot.durationMillis = (System.nanoTime() - start) / 1_000_000;
+      slot.status = "failed";
+    }
+    job.finished(slot);
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
+  }
+
+  private static final class Job {
+    final String id;
+    final Instant createdAt = Instant.now();
+    final List<Slot> slots = new ArrayList<>();
+    final List<Consumer<ReportBatchEntry>> listeners = new CopyOnWriteArrayList<>();
+    final CompletableFuture<ReportBatchJob> done = new CompletableFuture<>();
+    private final Map<String, CompletableFuture<MatchData>> matches = new ConcurrentHashMap<>();
+    // Slots whose entry has been handed to every listener
+    private int delivered;
+
+    Job(String id) {
+      this.id = id;
+    }
+
+    /**
+     * Fetch a match once per job; entries for the same match wait on the first fetch.
+     */
+    MatchData match(String matchId, MatchService matchService) {
+      CompletableFuture<MatchData> created = new CompletableFuture<>();
+      CompletableFuture<MatchData> existing = matches.putIfAbsent(matchId, created);
+      if (existing != null) {
+        return existing.join();
+      }
+      try {
+        created.complete(matchService.getMatchById(matchId));
+      } catch (RuntimeException e) {
+        created.completeExceptionally(e);
+      }
+      return created.join();
+    }
+
+    void finished(Slot slot) {
+      List<Consumer<ReportBatchEntry>> current;
+      synchronized (this) {
+        // Listeners added after this point get the slot from subscribe's replay instead
+        slot.announced = true;
+        current = List.copyOf(listeners);
+      }
+      ReportBatchEntry entry = slot.toEntry();
+      for (Consumer<ReportBatchEntry> listener : current) {
+        try {
+          listener.accept(entry);
+        } catch (RuntimeException e) {
+          // A listener that went away (closed stream) must not affect the job
+          listeners.remove(listener);
+        }
+      }
+      // Counted only once delivered, so whichever slot's delivery is last completes the job and
+      // no entry can reach a stream after its "done"
+      boolean complete;
+      synchronized (this) {
+        complete = ++delivered == slots.size();
+      }
+      if (complete) {
+        matches.clear();
+        done.complete(snapshot());
+      }
+    }
+
+    ReportBatchJob snapshot() {
+      ReportBatchJob job = new ReportBatchJob();
+      job.setJobId(id);
+      job.setCreatedAt(createdAt.toString());
+      job.setTotal(slots.size());
+      List<ReportBatchEntry> entries = new ArrayList<>(slots.size());
+      int completed = 0;
+      int failed = 0;
+      boolean started = false;
+      for (Slot slot : slots) {
+        ReportBatchEntry entry = slot.toEntry();
+        entries.add(entry);
+        switch (entry.getStatus()) {
+          case "done" -> completed++;
+          case "failed" -> failed++;
+          case "running" -> started = true;
+          default -> { }
+        }
+      }
+      job.setCompleted(completed);
+      job.setFailed(failed);
+      job.setEntries(entries);
+      if (completed + failed == slots.size()) {
+        job.setStatus("done");
+      } else {
+        job.setStatus(started || completed + failed > 0 ? "running" : "queued");
+      }
+      return job;
+    }
+  }
+
+  private static final class Slot {
+    final String matchId;
+    final String puuid;
+    volatile String status = "queued";
+    volatile String report;
+    volatile String error;
+    volatile long durationMillis;
+    // Guarded by the job's lock
+    boolean announced;
+
+    Slot(String matchId, String puuid) {
+      this.matchId = matchId;
+      this.puuid = puuid;
+    }
+
+    ReportBatchEntry toEntry() {
+      ReportBatchEntry entry = new ReportBatchEntry(matchId, puuid);
+      entry.setStatus(status);
+      entry.setReport(report);
+      entry.setError(error);
+      entry.setDurationMillis(durationMillis);
+      return entry;
+    }
+  }
+}
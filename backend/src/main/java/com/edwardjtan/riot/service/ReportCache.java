@@ -0,0 +1,272 @@
+package com.edwardjtan.riot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Cache of generated LLM reports, addressed by a SHA-256 of (model, max_tokens, prompt).
+ *
+ * Prompts are built deterministically from a GameAnalysis, so the same match and player always
+ * hash to the same key, and any change to the prompt template, model or token budget naturally
+ * misses. Entries live in memory (bounded by size and TTL) and, when persistence is enabled, as
+ * one file per key under {@code report.cache.dir} so they survive restarts. The directory is swept
+ * on startup and then after writes, at least hourly and as soon as it grows past
+ * {@code report.cache.persist.max-bytes}: expired reports are deleted, then the oldest until
+ * it fits.
+ */
+@Component
+public class ReportCache {
+
+  private static final Logger log = LoggerFactory.getLogger(ReportCache.class);
+
+  private static final String FILE_SUFFIX = ".md";
+  private static final String TEMP_SUFFIX = ".tmp";
+  private static final Duration SWEEP_INTERVAL = Duration.ofHours(1);
+  // String header, array and map entry overhead on top of the characters
+  private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+  private final Cache<String, String> cache;
+  private final Duration ttl;
+
+  @Value("${report.cache.persist.enabled:false}")
+  private boolean persistEnabled;
+
+  @Value("${report.cache.dir:data/report-cache}")
+  private String directory;
+
+  @Value("${report.cache.persist.max-bytes:268435456}")
+  private long maxDiskBytes;
+
+  // Bytes of reports on disk as of the last sweep, plus writes since; a replaced report is
+  // counted twice until the next sweep, which only brings that sweep forward
+  private final AtomicLong diskBytes = new AtomicLong();
+  private final AtomicBoolean sweeping = new AtomicBoolean();
+  private volatile long lastSweepNanos;
+
+  private record DiskEntry(Path file, long size, FileTime modified) {}
+
+  private final LongAdder memoryHits = new LongAdder();
+  private final LongAdder diskHits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder writes = new LongAdder();
+
+  public ReportCache(@Value("${report.cache.max-weight-bytes:16777216}") long maxWeightBytes,
+                     @Value("${report.cache.ttl:7d}") Duration ttl) {
+    this.ttl = ttl;
+    this.cache = Caffeine.newBuilder()
+      .maximumWeight(maxWeightBytes)
+      .weigher((String key, String report) -> report.length() * 2 + ENTRY_OVERHEAD_BYTES)
+      .expireAfterWrite(ttl)
+      .build();
+  }
+
+  @PostConstruct
+  void open() {
+    if (!persistEnabled) {
+      return;
+    }
+    try {
+      Path root = Paths.get(directory);
+      Files.createDirectories(root);
+      // Nothing is writing yet, so any temp file is left over from a write cut short by a crash
+      int staleTemps = 0;
+      try (Stream<Path> files = Files.list(root)) {
+        for (Path file : files.filter(p -> p.getFileName().toString().endsWith(TEMP_SUFFIX)).toList()) {
+          if (Files.deleteIfExists(file)) {
+            staleTemps++;
+          }
+        }
+      }
+      int removed = sweep();
+      log.info("Report cache persisting to {} ({} expired or over-budget reports and {} stale temp files removed, {} bytes kept)",
+        root.toAbsolutePath(), removed, staleTemps, diskBytes.get());
+    } catch (IOException e) {
+      log.error("Failed to open report cache at {}, continuing in memory only", directory, e);
+      persistEnabled = false;
+    }
+  }
+
+  /**
+   * Content address for a report request.
+   */
+  public static String key(String model, int maxTokens, String prompt) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update((model + "|" + maxTokens + "|").getBytes(StandardCharsets.UTF_8));
+      digest.update(prompt.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * Return the cached report for a key, or null.
+   */
+  public String get(String key) {
+    String report = cache.getIfPresent(key);
+    if (report != null) {
+      memoryHits.increment();
+      return report;
+    }
+    report = readFromDisk(key);
+    if (report != null) {
+      diskHits.increment();
+      cache.put(key, report);
+      return report;
+    }
+    misses.increment();
+    return null;
+  }
+
+  public void put(String key, String report) {
+    cache.put(key, report);
+    writes.increment();
+    writeToDisk(key, report);
+  }
+
+  public Map<String, Object> describe() {
+    long hits = memoryHits.sum() + diskHits.sum();
+    long lookups = hits + misses.sum();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("hitCount", hits);
+    result.put("memoryHitCount", memoryHits.sum());
+    result.put("diskHitCount", diskHits.sum());
+    result.put("missCount", misses.sum());
+    result.put("hitRate", lookups == 0 ? 0.0 : (double) hits / lookups);
+    result.put("writes", writes.sum());
+    result.put("entries", cache.estimatedSize());
+    cache.policy().eviction().ifPresent(eviction -> {
+      result.put("weightedSizeBytes", eviction.weightedSize().orElse(0));
+      result.put("maxWeightBytes", eviction.getMaximum());
+    });
+    result.put("persisted", persistEnabled);
+    if (persistEnabled) {
+      result.put("diskBytes", diskBytes.get());
+      result.put("maxDiskBytes", maxDiskBytes);
+    }
+    return result;
+  }
+
+  private String readFromDisk(String key) {
+    if (!persistEnabled) {
+      return null;
+    }
+    Path file = Paths.get(directory).resolve(key + FILE_SUFFIX);
+    try {
+      if (isExpired(Files.getLastModifiedTime(file))) {
+        Files.deleteIfExists(file);
+        return null;
+      }
+      return Files.readString(file, StandardCharsets.UTF_8);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      log.warn("Failed to read cached report {}", file, e);
+      return null;
+    }
+  }
+
+  private void writeToDisk(String key, String report) {
+    if (!persistEnabled) {
+      return;
+    }
+    Path root = Paths.get(directory);
+    try {
+      // Write then rename, so a reader never sees a half-written report
+      Path temp = Files.createTempFile(root, key, TEMP_SUFFIX);
+      Files.writeString(temp, report, StandardCharsets.UTF_8);
+      long size = Files.size(temp);
+      Files.move(temp, root.resolve(key + FILE_SUFFIX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      diskBytes.addAndGet(size);
+    } catch (IOException e) {
+      log.warn("Failed to persist report {}", key, e);
+      return;
+    }
+    if (diskBytes.get() > maxDiskBytes || System.nanoTime() - lastSweepNanos > SWEEP_INTERVAL.toNanos()) {
+      // One sweep at a time; a write that finds one running leaves the work to it
+      if (sweeping.compareAndSet(false, true)) {
+        try {
+          sweep();
+        } catch (IOException e) {
+          log.warn("Failed to sweep report cache at {}", directory, e);
+        } finally {
+          sweeping.set(false);
+        }
+      }
+    }
+  }
+
+  /**
+   * Delete expired reports, then the oldest until the directory fits in max-bytes.
+   * Returns how many were deleted.
+   */
+  private int sweep() throws IOException {
+    List<DiskEntry> kept = new ArrayList<>();
+    long total = 0;
+    int removed = 0;
+    try (Stream<Path> files = Files.list(Paths.get(directory))) {
+      for (Path file : files.filter(p -> p.getFileName().toString().endsWith(FILE_SUFFIX)).toList()) {
+        try {
+          BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+          if (isExpired(attributes.lastModifiedTime())) {
+            Files.deleteIfExists(file);
+            removed++;
+          } else {
+            kept.add(new DiskEntry(file, attributes.size(), attributes.lastModifiedTime()));
+            total += attributes.size();
+          }
+        } catch (NoSuchFileException e) {
+          // Deleted by a reader that found it expired
+        }
+      }
+    }
+    if (total > maxDiskBytes) {
+      kept.sort(Comparator.comparing(DiskEntry::modified));
+      for (DiskEntry entry : kept) {
+        if (total <= maxDiskBytes) {
+          break;
+        }
+        Files.deleteIfExists(entry.file());
+        total -= entry.size();
+        removed++;
+      }
+    }
+    diskBytes.set(total);
+    lastSweepNanos = System.nanoTime();
+    return removed;
+  }
+
+  private boolean isExpired(FileTime modified) {
+    return modified.toInstant().plus(ttl).isBefore(Instant.now());
+  }
+}
@@ -0,0 +1,142 @@
+package com.edwardjtan.riot.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single entry point for Riot API calls. Every request waits for a token from
+ * {@link RiotRateLimiter}, reports the rate-limit headers back to it, and is retried with
+ * jittered backoff when Riot answers 429 or 503.
+ *
+ * Each HTTP attempt is timed as {@code riot.api.requests} (tagged with the method key and the
+ * response status), and the time spent waiting for a rate-limit token as {@code riot.ratelimit.wait}.
+ */
+@Component
+public class RiotApiClient {
+
+  private static final Logger log = LoggerFactory.getLogger(RiotApiClient.class);
+
+  // Method-level rate limit keys, one per Riot endpoint we call
+  public static final String ACCOUNT_BY_RIOT_ID = "account-v1.by-riot-id";
+  public static final String MATCH_IDS_BY_PUUID = "match-v5.ids-by-puuid";
+  public static final String MATCH_BY_ID = "match-v5.by-id";
+  public static final String MATCH_TIMELINE = "match-v5.timeline";
+
+  private final RestTemplate restTemplate;
+  private final RiotRateLimiter rateLimiter;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${riot.ratelimit.max-retries:3}")
+  private int maxRetries;
+
+  @Value("${riot.ratelimit.backoff-base-millis:500}")
+  private long backoffBaseMillis;
+
+  @Value("${riot.ratelimit.backoff-max-millis:10000}")
+  private long backoffMaxMillis;
+
+  public RiotApiClient(@Qualifier("riotRestTemplate") RestTemplate restTemplate, RiotRateLimiter rateLimiter,
+                       MeterRegistry meterRegistry) {
+    this.restTemplate = restTemplate;
+    this.rateLimiter = rateLimiter;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public <T> T get(String method, String url, Class<T> responseType) {
+    for (int attempt = 0; ; attempt++) {
+      Timer.Sample wait = Timer.start(meterRegistry);
+      rateLimiter.acquire(method);
+      wait.stop(meterRegistry.timer("riot.ratelimit.wait", "method", method));
+      try {
+        ResponseEntity<T> response = exchange(method, url, responseType);
+        rateLimiter.onResponse(method, response.getHeaders());
+        return response.getBody();
+      } catch (HttpStatusCodeException e) {
+        rateLimiter.onResponse(method, e.getResponseHeaders());
+        if (!isRetryable(e)) {
+          throw e;
+        }
+
+        long delayMillis = retryDelayMillis(e.getResponseHeaders(), attempt);
+        if (e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+          HttpHeaders headers = e.getResponseHeaders();
+          rateLimiter.onThrottled(method, headers != null ? headers.getFirst("X-Rate-Limit-Type") : null, delayMillis);
+        }
+        if (attempt >= maxRetries) {
+          throw new RiotRateLimitedException(
+            "Riot API still returning " + e.getStatusCode().value() + " after " + (attempt + 1) + " attempts",
+            delayMillis, e);
+        }
+
+        log.warn("Riot API returned {} for {}, retrying in {} ms (attempt {}/{})",
+          e.getStatusCode().value(), method, delayMillis, attempt + 1, maxRetries);
+        sleep(delayMillis);
+      }
+    }
+  }
+
+  /**
+   * One timed HTTP attempt; backoff sleeps and rate-limit waits are not part of it.
+   */
+  private <T> ResponseEntity<T> exchange(String method, String url, Class<T> responseType) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String status = "IO_ERROR";
+    try {
+      ResponseEntity<T> response = restTemplate.exchange(url, HttpMethod.GET, null, responseType);
+      status = String.valueOf(response.getStatusCode().value());
+      return response;
+    } catch (HttpStatusCodeException e) {
+      status = String.valueOf(e.getStatusCode().value());
+      throw e;
+    } finally {
+      sample.stop(meterRegistry.timer("riot.api.requests", "method", method, "status", status));
+    }
+  }
+
+  private boolean isRetryable(HttpStatusCodeException e) {
+    int status = e.getStatusCode().value();
+    return status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+  }
+
+  /**
+   * Honour Retry-After when Riot sends it, otherwise exponential backoff with equal jitter: half
+   * the exponential ceiling plus a random amount up to the other half, so a retry never comes
+   * right back.
+   */
+  private long retryDelayMillis(HttpHeaders headers, int attempt) {
+    String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+    if (retryAfter != null) {
+      try {
+        long base = TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        return base + ThreadLocalRandom.current().nextLong(backoffBaseMillis / 5 + 1);
+      } catch (NumberFormatException e) {
+        log.debug("Ignoring non-numeric Retry-After: {}", retryAfter);
+      }
+    }
+    long ceiling = Math.min(backoffMaxMillis, backoffBaseMillis << Math.min(attempt, 20));
+    return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+  }
+
+  private void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while backing off from Riot API", e);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.edwardjtan.riot.service;
+
+/**
+ * Thrown when Riot keeps answering 429/503 after all retries are used up.
+ */
+public class RiotRateLimitedException extends RuntimeException {
+
+  private final long retryAfterMillis;
+
+  public RiotRateLimitedException(String message, long retryAfterMillis, Throwable cause) {
+    super(message, cause);
+    this.retryAfterMillis = retryAfterMillis;
+  }
+
+  public long getRetryAfterMillis() {
+    return retryAfterMillis;
+  }
+
+  /**
+   * Find a rate-limit failure anywhere in the cause chain, since services wrap their exceptions.
+   */
+  public static RiotRateLimitedException findIn(Throwable throwable) {
+    for (Throwable t = throwable; t != null; t = t.getCause()) {
+      if (t instanceof RiotRateLimitedException rateLimited) {
+        return rateLimited;
+      }
+    }
+    return null;
+  }
+}
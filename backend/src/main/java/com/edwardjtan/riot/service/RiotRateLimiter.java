@@ -0,0 +1,267 @@
+package com.edwardjtan.riot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket scheduler for Riot's app-level and method-level rate limits.
+ *
+ * Callers block in {@link #acquire(String)} until both the app buckets and the buckets for their
+ * method have a token, so bursts queue up instead of failing. Limits start from
+ * {@code riot.ratelimit.app-limits} and are then learned from the X-*-Rate-Limit headers; the
+ * X-*-Rate-Limit-Count headers pull our local token counts down to what Riot has actually seen.
+ * A 429 pauses every method only when Riot says the application limit was hit; a method or
+ * service limit pauses just that method.
+ */
+@Component
+public class RiotRateLimiter {
+
+  private static final Logger log = LoggerFactory.getLogger(RiotRateLimiter.class);
+
+  private final BucketSet appBuckets = new BucketSet();
+  private final Map<String, BucketSet> methodBuckets = new ConcurrentHashMap<>();
+  // Application-wide pause after an application-limit 429; method pauses live in their BucketSet
+  private long pausedUntilNanos;
+
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  private final LongAdder acquired = new LongAdder();
+  private final LongAdder delayed = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+  private final LongAdder throttled = new LongAdder();
+
+  public RiotRateLimiter(@Value("${riot.ratelimit.app-limits:20:1,100:120}") String appLimits) {
+    appBuckets.configure(parseLimits(appLimits));
+  }
+
+  /**
+   * Block until a request for {@code method} may be sent, then consume its tokens.
+   */
+  public void acquire(String method) {
+    BucketSet methodSet = methodBuckets.computeIfAbsent(method, key -> new BucketSet());
+    long start = System.nanoTime();
+    queueDepth.incrementAndGet();
+    try {
+      while (true) {
+        long waitNanos;
+        synchronized (this) {
+          long now = System.nanoTime();
+          waitNanos = Math.max(Math.max(pausedUntilNanos, methodSet.pausedUntilNanos) - now,
+            Math.max(appBuckets.nanosUntilAvailable(now), methodSet.nanosUntilAvailable(now)));
+          if (waitNanos <= 0) {
+            appBuckets.take();
+            methodSet.take();
+            break;
+          }
+        }
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for Riot rate limit", e);
+    } finally {
+      queueDepth.decrementAndGet();
+    }
+
+    long waited = System.nanoTime() - start;
+    acquired.increment();
+    totalWaitNanos.add(waited);
+    maxWaitNanos.accumulateAndGet(waited, Math::max);
+    if (waited > TimeUnit.MILLISECONDS.toNanos(1)) {
+      delayed.increment();
+    }
+  }
+
+  /**
+   * Learn limits and current usage from a Riot response (successful or not).
+   */
+  public void onResponse(String method, HttpHeaders headers) {
+    if (headers == null) {
+      return;
+    }
+    BucketSet methodSet = methodBuckets.computeIfAbsent(method, key -> new BucketSet());
+    synchronized (this) {
+      long now = System.nanoTime();
+      learn(appBuckets, headers.getFirst("X-App-Rate-Limit"), headers.getFirst("X-App-Rate-Limit-Count"), now);
+      learn(methodSet, headers.getFirst("X-Method-Rate-Limit"), headers.getFirst("X-Method-Rate-Limit-Count"), now);
+    }
+  }
+
+  /**
+   * Record a 429 and hold requests back for {@code delayMillis}: every request when
+   * {@code limitType} (the X-Rate-Limit-Type header) is "application", otherwise only requests
+   * for {@code method}, since a method or service limit says nothing about other endpoints.
+   */
+  public void onThrottled(String method, String limitType, long delayMillis) {
+    throttled.increment();
+    boolean application = "application".equalsIgnoreCase(limitType);
+    BucketSet methodSet = methodBuckets.computeIfAbsent(method, key -> new BucketSet());
+    synchronized (this) {
+      long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+      if (application) {
+        pausedUntilNanos = Math.max(pausedUntilNanos, until);
+      } else {
+        methodSet.pausedUntilNanos = Math.max(methodSet.pausedUntilNanos, until);
+      }
+    }
+    log.warn("Riot {} rate limit hit on {}, pausing {} for {} ms", limitType != null ? limitType : "service",
+      method, application ? "all requests" : method, delayMillis);
+  }
+
+  public Map<String, Object> describe() {
+    long count = acquired.sum();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("queueDepth", queueDepth.get());
+    result.put("acquired", count);
+    result.put("delayed", delayed.sum());
+    result.put("throttled", throttled.sum());
+    result.put("averageWaitMillis", count == 0 ? 0.0 : totalWaitNanos.sum() / 1e6 / count);
+    result.put("maxWaitMillis", maxWaitNanos.get() / 1e6);
+    synchronized (this) {
+      result.put("appLimits", appBuckets.describe());
+      Map<String, String> methods = new LinkedHashMap<>();
+      methodBuckets.forEach((method, buckets) -> methods.put(method, buckets.describe()));
+      result.put("methodLimits", methods);
+    }
+    return result;
+  }
+
+  private void learn(BucketSet buckets, String limitHeader, String countHeader, long now) {
+    if (limitHeader != null) {
+      List<long[]> limits = parseLimits(limitHeader);
+      if (!buckets.matches(limits)) {
+        buckets.configure(limits);
+      }
+    }
+    if (countHeader != null) {
+      buckets.syncCounts(parseLimits(countHeader), now);
+    }
+  }
+
+  /**
+   * Parse Riot's "count:seconds,count:seconds" header format.
+   */
+  static List<long[]> parseLimits(String value) {
+    List<long[]> limits = new ArrayList<>();
+    if (value == null || value.isBlank()) {
+      return limits;
+    }
+    for (String part : value.split(",")) {
+      String[] pair = part.trim().split(":");
+      if (pair.length == 2) {
+        try {
+          limits.add(new long[] { Long.parseLong(pair[0].trim()), Long.parseLong(pair[1].trim()) });
+        } catch (NumberFormatException e) {
+          log.warn("Ignoring malformed rate limit entry: {}", part);
+        }
+      }
+    }
+    return limits;
+  }
+
+  /**
+   * All the windows for one scope (the app, or one method), e.g. 20 per 1s and 100 per 120s.
+   * Guarded by the enclosing limiter's monitor.
+   */
+  private static final class BucketSet {
+    private final List<Bucket> buckets = new ArrayList<>();
+    // Set on a method- or service-limit 429 for this method
+    long pausedUntilNanos;
+
+    void configure(List<long[]> limits) {
+      buckets.clear();
+      long now = System.nanoTime();
+      for (long[] limit : limits) {
+        buckets.add(new Bucket(limit[0], limit[1], now));
+      }
+    }
+
+    boolean matches(List<long[]> limits) {
+      if (limits.size() != buckets.size()) {
+        return false;
+      }
+      for (int i = 0; i < limits.size(); i++) {
+        Bucket bucket = buckets.get(i);
+        if (bucket.capacity != limits.get(i)[0] || bucket.windowSeconds != limits.get(i)[1]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    void syncCounts(List<long[]> counts, long now) {
+      for (long[] count : counts) {
+        for (Bucket bucket : buckets) {
+          if (bucket.windowSeconds == count[1]) {
+            bucket.refill(now);
+            bucket.tokens = Math.min(bucket.tokens, bucket.capacity - count[0]);
+          }
+        }
+      }
+    }
+
+    long nanosUntilAvailable(long now) {
+      long wait = 0;
+      for (Bucket bucket : buckets) {
+        wait = Math.max(wait, bucket.nanosUntilAvailable(now));
+      }
+      return wait;
+    }
+
+    void take() {
+      for (Bucket bucket : buckets) {
+        bucket.tokens -= 1;
+      }
+    }
+
+    String describe() {
+      StringBuilder sb = new StringBuilder();
+      for (Bucket bucket : buckets) {
+        if (sb.length() > 0) {
+          sb.append(",");
+        }
+        sb.append(String.format("%.1f/%d:%d", Math.max(0, bucket.tokens), bucket.capacity, bucket.windowSeconds));
+      }
+      return sb.toString();
+    }
+  }
+
+  private static final class Bucket {
+    final long capacity;
+    final long windowSeconds;
+    final double tokensPerNano;
+    double tokens;
+    long lastRefillNanos;
+
+    Bucket(long capacity, long windowSeconds, long now) {
+      this.capacity = capacity;
+      this.windowSeconds = Math.max(1, windowSeconds);
+      this.tokensPerNano = capacity / (double) TimeUnit.SECONDS.toNanos(this.windowSeconds);
+      this.tokens = capacity;
+      this.lastRefillNanos = now;
+    }
+
+    void refill(long now) {
+      tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+      lastRefillNanos = now;
+    }
+
+    long nanosUntilAvailable(long now) {
+      refill(now);
+      return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.edwardjtan.riot.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the call and every caller
+ * that arrives while it is in flight waits for, and shares, that one result (or failure).
+ * Nothing is remembered once the call completes; caching is the caller's job.
+ */
+final class SingleFlight<K, V> {
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder coalesced = new LongAdder();
+
+  V execute(K key, Supplier<V> call) {
+    CompletableFuture<V> pending = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, pending);
+    if (existing != null) {
+      coalesced.increment();
+      return await(existing);
+    }
+
+    try {
+      V value = call.get();
+      pending.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      pending.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, pending);
+    }
+  }
+
+  /**
+   * Number of calls that were served by another caller's in-flight request.
+   */
+  long coalescedCount() {
+    return coalesced.sum();
+  }
+
+  private V await(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+}
@@ -1,32 +1,124 @@
 package com.edwardjtan.riot.service;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.merakianalytics.orianna.types.core.summoner.Summoner;
 import com.merakianalytics.orianna.types.common.Platform;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Service
 public class SummonerService {
 
   private static final Logger log = LoggerFactory.getLogger(SummonerService.class);
-  private final RestTemplate restTemplate = new RestTemplate();
+  private final RiotApiClient riotApiClient;
+
+  // Riot ID (lower-cased) -> PUUID, or empty when account-v1 said the account does not exist.
+  // Concurrent misses for the same key share one load, and entries older than refresh-after are
+  // reloaded in the background on access while the old value keeps being served.
+  private final LoadingCache<String, Optional<String>> puuidCache;
+  private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
   @Value("${riot.api.key}")
   private String apiKey;
 
+  @Value("${riot.api.base-url:https://americas.api.riotgames.com}")
+  private String baseUrl;
+
+  public SummonerService(RiotApiClient riotApiClient,
+                         @Value("${riot.account.cache.max-size:10000}") long maxSize,
+                         @Value("${riot.account.cache.ttl:24h}") Duration ttl,
+                         @Value("${riot.account.cache.refresh-after:1h}") Duration refreshAfter,
+                         @Value("${riot.account.cache.negative-ttl:5m}") Duration negativeTtl) {
+    this.riotApiClient = riotApiClient;
+    this.puuidCache = Caffeine.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfter(Expiry.writing((String key, Optional<String> puuid) -> puuid.isPresent() ? ttl : negativeTtl))
+      .refreshAfterWrite(refreshAfter)
+      .executor(refreshExecutor)
+      .recordStats()
+      .build(this::loadPuuid);
+  }
+
+  @PreDestroy
+  void shutdownRefresh() {
+    refreshExecutor.shutdownNow();
+  }
+
+  @Async
+  public CompletableFuture<String> getPuuidByRiotIdAsync(String gameName, String tagLine) {
+    return CompletableFuture.completedFuture(getPuuidByRiotId(gameName, tagLine));
+  }
+
   public String getPuuidByRiotId(String gameName, String tagLine) {
+    return puuidCache.get(cacheKey(gameName, tagLine))
+      .orElseThrow(() -> new RuntimeException("Account not found: " + gameName + "#" + tagLine));
+  }
+
+  public Map<String, Object> describePuuidCache() {
+    CacheStats stats = puuidCache.stats();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("hitCount", stats.hitCount());
+    result.put("missCount", stats.missCount());
+    result.put("hitRate", stats.hitRate());
+    result.put("loadSuccessCount", stats.loadSuccessCount());
+    result.put("loadFailureCount", stats.loadFailureCount());
+    result.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+    result.put("evictionCount", stats.evictionCount());
+    result.put("entries", puuidCache.estimatedSize());
+    return result;
+  }
+
+  // Riot IDs are case-insensitive, so "Faker#KR1" and "faker#kr1" share an entry
+  private static String cacheKey(String gameName, String tagLine) {
+    return gameName.trim().toLowerCase(Locale.ROOT) + "#" + tagLine.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Cache loader: a 404 from account-v1 becomes a (short-lived) negative entry;
+   * any other failure is thrown so nothing is cached and a refresh keeps the old value.
+   */
+  private Optional<String> loadPuuid(String key) {
+    int separator = key.lastIndexOf('#');
+    String gameName = key.substring(0, separator);
+    String tagLine = key.substring(separator + 1);
+    try {
+      return Optional.of(fetchPuuidByRiotId(gameName, tagLine));
+    } catch (RuntimeException e) {
+      if (e.getCause() instanceof HttpClientErrorException.NotFound) {
+        log.info("No account for {}#{}, caching the miss", gameName, tagLine);
+        return Optional.empty();
+      }
+      throw e;
+    }
+  }
+
+  private String fetchPuuidByRiotId(String gameName, String tagLine) {
     try {
       String url = String.format(
-        "https://americas.api.riotgames.com/riot/account/v1/accounts/by-riot-id/%s/%s?api_key=%s",
-        gameName, tagLine, apiKey
+        "%s/riot/account/v1/accounts/by-riot-id/%s/%s?api_key=%s",
+        baseUrl, gameName, tagLine, apiKey
       );
 
       log.info("Fetching PUUID for {}#{}", gameName, tagLine);
-      JsonNode response = restTemplate.getForObject(url, JsonNode.class);
+      JsonNode response = riotApiClient.get(RiotApiClient.ACCOUNT_BY_RIOT_ID, url, JsonNode.class);
 
       if (response != null && response.has("puuid")) {
         String puuid = response.get("puuid").asText();
@@ -0,0 +1,125 @@
+package com.edwardjtan.riot.service;
+
+import com.edwardjtan.riot.model.MatchTimeline;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Match-v5 timelines, parsed into compact {@link MatchTimeline}s as they are downloaded.
+ * A finished match's timeline never changes, so parsed timelines are cached by match ID, bounded
+ * by their estimated heap size (a few tens of KB each, against 1-3 MB of JSON); concurrent
+ * requests for the same timeline share one download.
+ */
+@Service
+public class TimelineService {
+
+  private static final Logger log = LoggerFactory.getLogger(TimelineService.class);
+
+  private final RiotApiClient riotApiClient;
+  private final MatchTimelineReader reader = new MatchTimelineReader(new ObjectMapper());
+  private final SingleFlight<String, MatchTimeline> fetches = new SingleFlight<>();
+  private final Cache<String, MatchTimeline> timelines;
+  private final LongAdder downloadedBytes = new LongAdder();
+  private final Timer deserialization;
+
+  @Value("${riot.api.key}")
+  private String apiKey;
+
+  @Value("${riot.api.base-url:https://americas.api.riotgames.com}")
+  private String baseUrl;
+
+  @Value("${riot.timeline.enabled:true}")
+  private boolean enabled;
+
+  public TimelineService(RiotApiClient riotApiClient,
+                         @Value("${riot.timeline.cache.max-weight-bytes:33554432}") long maxWeightBytes,
+                         MeterRegistry meterRegistry) {
+    this.riotApiClient = riotApiClient;
+    this.deserialization = meterRegistry.timer("json.deserialization", "type", "timeline");
+    this.timelines = Caffeine.newBuilder()
+      .maximumWeight(maxWeightBytes)
+      .weigher((String matchId, MatchTimeline timeline) -> (int) Math.min(Integer.MAX_VALUE, timeline.estimatedBytes()))
+      .recordStats()
+      .build();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * The match's timeline, or null when timelines are disabled.
+   */
+  public MatchTimeline getTimeline(String matchId) {
+    if (!enabled) {
+      return null;
+    }
+    MatchTimeline cached = timelines.getIfPresent(matchId);
+    if (cached != null) {
+      return cached;
+    }
+    return fetches.execute(matchId, () -> {
+      // The previous leader may have cached it between our miss and taking the flight
+      MatchTimeline existing = timelines.policy().getIfPresentQuietly(matchId);
+      if (existing != null) {
+        return existing;
+      }
+      MatchTimeline timeline = fetchTimeline(matchId);
+      timelines.put(matchId, timeline);
+      return timeline;
+    });
+  }
+
+  public Map<String, Object> describe() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("enabled", enabled);
+    result.put("cached", timelines.estimatedSize());
+    result.put("hits", timelines.stats().hitCount());
+    result.put("misses", timelines.stats().missCount());
+    result.put("downloadedBytes", downloadedBytes.sum());
+    timelines.policy().eviction().ifPresent(eviction -> {
+      result.put("weightedSizeBytes", eviction.weightedSize().orElse(0));
+      result.put("maxWeightBytes", eviction.getMaximum());
+    });
+    result.put("coalesced", fetches.coalescedCount());
+    return result;
+  }
+
+  private MatchTimeline fetchTimeline(String matchId) {
+    try {
+      log.info("Fetching timeline for match ID: {}", matchId);
+      String timelineUrl = String.format(
+        "%s/lol/match/v5/matches/%s/timeline?api_key=%s",
+        baseUrl, matchId, apiKey
+      );
+      byte[] payload = riotApiClient.get(RiotApiClient.MATCH_TIMELINE, timelineUrl, byte[].class);
+      if (payload == null) {
+        throw new RuntimeException("Empty timeline response for: " + matchId);
+      }
+      downloadedBytes.add(payload.length);
+
+      long start = System.nanoTime();
+      MatchTimeline timeline = reader.read(payload);
+      deserialization.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      log.info("Parsed timeline for {}: {} KB of JSON into {} KB, {} events, {} frames",
+        matchId, payload.length / 1024, timeline.estimatedBytes() / 1024, timeline.getEventCount(),
+        timeline.getFrames().getFrameCount());
+      return timeline;
+    } catch (Exception e) {
+      log.error("Error fetching timeline for match ID: {}", matchId, e);
+      throw new RuntimeException("Failed to fetch timeline for match: " + matchId, e);
+    }
+  }
+}
@@ -1,13 +1,15 @@
 #!/usr/bin/env python3
 """
 CLI tool to compare different AI API providers for speed and token usage.
-Called by Spring Boot backend.
+Called by Spring Boot backend, which keeps long-lived `serve` workers running.
 """
 import click
 import time
 import json
 import sys
-from typing import Dict, Any
+import threading
+from concurrent.futures import ThreadPoolExecutor
+from typing import Dict, Any, Optional
 from datetime import datetime
 import anthropic
 import openai
@@ -16,10 +18,36 @@ import os
 
 load_dotenv()
 
+# SDK clients hold connection pools; build each once per process and share it across threads
+_clients: Dict[str, Any] = {}
+_clients_lock = threading.Lock()
 
-def test_anthropic(prompt: str, model: str = "claude-sonnet-4-20250514") -> Dict[str, Any]:
+
+def get_client(provider: str):
+    with _clients_lock:
+        if provider not in _clients:
+            if provider == "anthropic":
+                _clients[provider] = anthropic.Anthropic(api_key=os.getenv("ANTHROPIC_API_KEY"))
+            else:
+                _clients[provider] = openai.OpenAI(api_key=os.getenv("OPENAI_API_KEY"))
+        return _clients[provider]
+
+
+def client_for(provider: str, timeout: Optional[float]):
+    """
+    The shared client, or a copy bounded by the caller's remaining time. Retries are off then, so
+    the call ends (and frees its worker thread) once the caller has given up on it.
+    """
+    client = get_client(provider)
+    if timeout is None:
+        return client
+    return client.with_options(timeout=timeout, max_retries=0)
+
+
+def test_anthropic(prompt: str, model: str = "claude-sonnet-4-20250514",
+                   timeout: Optional[float] = None) -> Dict[str, Any]:
     """Test Anthropic Claude API."""
-    client = anthropic.Anthropic(api_key=os.getenv("ANTHROPIC_API_KEY"))
+    client = client_for("anthropic", timeout)
 
     start_time = time.time()
     try:
@@ -53,9 +81,9 @@ def test_anthropic(prompt: str, model: str = "claude-sonnet-4-20250514") -> Dict
         }
 
 
-def test_openai(prompt: str, model: str = "gpt-4o") -> Dict[str, Any]:
+def test_openai(prompt: str, model: str = "gpt-4o", timeout: Optional[float] = None) -> Dict[str, Any]:
     """Test OpenAI API."""
-    client = openai.OpenAI(api_key=os.getenv("OPENAI_API_KEY"))
+    client = client_for("openai", timeout)
 
     start_time = time.time()
     try:
@@ -95,26 +123,42 @@ def cli():
     pass
 
 
-@cli.command()
-@click.option('--prompt', '-p', required=True, help='Prompt to send to all providers')
-@click.option('--anthropic-model', default='claude-sonnet-4-20250514', help='Anthropic model to use')
-@click.option('--openai-model', default='gpt-4o', help='OpenAI model to use')
-def compare(prompt: str, anthropic_model: str, openai_model: str):
-    """Compare multiple API providers with the same prompt and output JSON."""
+def remaining(deadline: Optional[float]) -> Optional[float]:
+    """Seconds left before the deadline (time.monotonic()), or None without one."""
+    if deadline is None:
+        return None
+    left = deadline - time.monotonic()
+    if left <= 0:
+        raise TimeoutError("Deadline passed before the provider call started")
+    return left
+
+
+def compare_providers(prompt: str, anthropic_model: str, openai_model: str,
+                      deadline: Optional[float] = None) -> list:
+    """Run the prompt against every provider that has an API key configured."""
     results = []
 
     # Test Anthropic
     if os.getenv("ANTHROPIC_API_KEY"):
-        result = test_anthropic(prompt, anthropic_model)
+        result = test_anthropic(prompt, anthropic_model, remaining(deadline))
         results.append(result)
 
     # Test OpenAI
     if os.getenv("OPENAI_API_KEY"):
-        result = test_openai(prompt, openai_model)
+        result = test_openai(prompt, openai_model, remaining(deadline))
         results.append(result)
 
+    return results
+
+
+@cli.command()
+@click.option('--prompt', '-p', required=True, help='Prompt to send to all providers')
+@click.option('--anthropic-model', default='claude-sonnet-4-20250514', help='Anthropic model to use')
+@click.option('--openai-model', default='gpt-4o', help='OpenAI model to use')
+def compare(prompt: str, anthropic_model: str, openai_model: str):
+    """Compare multiple API providers with the same prompt and output JSON."""
     # Output JSON to stdout for Java to parse
-    print(json.dumps(results))
+    print(json.dumps(compare_providers(prompt, anthropic_model, openai_model)))
 
 
 @cli.command()
@@ -135,5 +179,70 @@ def openai_test(prompt: str, model: str):
     print(json.dumps(result))
 
 
+def handle_request(request: Dict[str, Any], deadline: Optional[float] = None) -> Any:
+    op = request.get("op")
+    prompt = request["prompt"]
+    if op == "compare":
+        return compare_providers(prompt,
+                                 request.get("anthropicModel") or "claude-sonnet-4-20250514",
+                                 request.get("openaiModel") or "gpt-4o",
+                                 deadline)
+    if op in ("anthropic", "openai") and request.get("ifConfigured") \
+            and not os.getenv("ANTHROPIC_API_KEY" if op == "anthropic" else "OPENAI_API_KEY"):
+        # Per-provider comparison calls skip unconfigured providers, as compare does
+        return None
+    if op == "anthropic":
+        return test_anthropic(prompt, request.get("model") or "claude-sonnet-4-20250514", remaining(deadline))
+    if op == "openai":
+        return test_openai(prompt, request.get("model") or "gpt-4o", remaining(deadline))
+    raise ValueError(f"Unknown op: {op}")
+
+
+@cli.command()
+@click.option('--concurrency', '-c', default=4, help='Requests handled at the same time')
+def serve(concurrency: int):
+    """
+    Long-lived worker: one JSON request per stdin line, one JSON response per stdout line.
+
+    Request:  {"id": 1, "op": "compare" | "anthropic" | "openai", "prompt": "...", ...model options}
+              "ifConfigured": true on a provider op answers null when that provider has no API key
+              "timeoutSeconds": how long the caller waits for the answer, counted from when the
+              line is read; provider calls are cut off when it runs out so they free their thread
+    Response: {"id": 1, "ok": true, "result": ...} or {"id": 1, "ok": false, "error": "..."}
+    Responses may come back in a different order than requests; match them by id.
+    """
+    protocol = sys.stdout
+    # Anything else that prints (SDK warnings, stray debug output) must not corrupt the protocol
+    sys.stdout = sys.stderr
+    write_lock = threading.Lock()
+
+    def respond(response: Dict[str, Any]):
+        line = json.dumps(response)
+        with write_lock:
+            protocol.write(line + "\n")
+            protocol.flush()
+
+    def run(request: Dict[str, Any], deadline: Optional[float]):
+        try:
+            respond({"id": request.get("id"), "ok": True, "result": handle_request(request, deadline)})
+        except Exception as e:
+            respond({"id": request.get("id"), "ok": False, "error": f"{type(e).__name__}: {e}"})
+
+    with ThreadPoolExecutor(max_workers=concurrency) as pool:
+        for line in sys.stdin:
+            line = line.strip()
+            if not line:
+                continue
+            try:
+                request = json.loads(line)
+            except json.JSONDecodeError as e:
+                respond({"id": None, "ok": False, "error": f"Malformed request: {e}"})
+                continue
+            # Measured from here, so time spent queued for a free thread counts against it
+            timeout = request.get("timeoutSeconds")
+            deadline = time.monotonic() + float(timeout) if timeout else None
+            pool.submit(run, request, deadline)
+
+
 if __name__ == '__main__':
     cli()
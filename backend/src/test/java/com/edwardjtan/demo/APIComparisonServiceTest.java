@@ -0,0 +1,75 @@
+package com.edwardjtan.demo;
+
+import com.edwardjtan.riot.model.APIComparisonResult;
+import com.edwardjtan.riot.service.APIComparisonService;
+import com.edwardjtan.riot.service.PythonWorkerPool;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class APIComparisonServiceTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * Answers each op from a future the test completes, instead of starting Python workers.
+   */
+  private static class StubWorkerPool extends PythonWorkerPool {
+    final Map<String, CompletableFuture<JsonNode>> calls = new ConcurrentHashMap<>();
+
+    StubWorkerPool() {
+      super(1, 1, Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    @Override
+    public CompletableFuture<JsonNode> submit(String op, Map<String, Object> arguments, Duration timeout) {
+      return calls.computeIfAbsent(op, key -> new CompletableFuture<>());
+    }
+  }
+
+  @Test
+  public void testEveryResultDeliveredBeforeCompletion() throws Exception {
+    for (int run = 0; run < 50; run++) {
+      StubWorkerPool pool = new StubWorkerPool();
+      APIComparisonService service = new APIComparisonService(pool, Duration.ofSeconds(5));
+      List<String> delivered = new CopyOnWriteArrayList<>();
+
+      CompletableFuture<List<APIComparisonResult>> comparison = service.compareProvidersConcurrently(
+        "prompt", "claude", "gpt", result -> {
+          // A slow client write
+          sleep(5);
+          delivered.add(result.getProvider());
+        });
+
+      // Providers answer on their own threads, as the worker's stdout readers do
+      Thread anthropic = Thread.startVirtualThread(() -> pool.calls.get("anthropic")
+        .complete(objectMapper.valueToTree(Map.of("provider", "Anthropic", "success", true))));
+      Thread openai = Thread.startVirtualThread(() -> pool.calls.get("openai")
+        .complete(objectMapper.valueToTree(Map.of("provider", "OpenAI", "success", true))));
+
+      // Like the stream endpoints, which send "done" as soon as the comparison completes
+      assertEquals(2, comparison.join().size());
+      assertEquals(2, delivered.size(), "results delivered when the comparison completed");
+      anthropic.join();
+      openai.join();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.edwardjtan.demo;
+
+import com.edwardjtan.riot.model.GameAnalysis;
+import com.edwardjtan.riot.service.ClaudeService;
+import com.edwardjtan.riot.service.ReportCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class ClaudeServiceTest {
+
+  private static final String DELTAS =
+    "event: message_start\n" +
+    "data: {\"type\": \"message_start\"}\n\n" +
+    "event: content_block_delta\n" +
+    "data: {\"type\": \"content_block_delta\", \"index\": 0, \"delta\": {\"type\": \"text_delta\", \"text\": \"Strong \"}}\n\n" +
+    "event: content_block_delta\n" +
+    "data: {\"type\": \"content_block_delta\", \"index\": 0, \"delta\": {\"type\": \"text_delta\", \"text\": \"laning.\"}}\n\n";
+  private static final String STOP =
+    "event: message_stop\n" +
+    "data: {\"type\": \"message_stop\"}\n\n";
+
+  private MockRestServiceServer server;
+  private ReportCache reportCache;
+  private ClaudeService claudeService;
+  private final GameAnalysis analysis = new GameAnalysis("NA1_1", "puuid-1", "Player#NA1", "Ahri", "MIDDLE",
+    true, 7, 2, 9, 1800, List.of(), new HashMap<>());
+
+  @BeforeEach
+  public void setUp() {
+    RestTemplate restTemplate = new RestTemplate();
+    server = MockRestServiceServer.bindTo(restTemplate).build();
+    reportCache = new ReportCache(1 << 20, Duration.ofDays(7));
+    claudeService = new ClaudeService(restTemplate, reportCache, new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(claudeService, "apiKey", "test-key");
+    ReflectionTestUtils.setField(claudeService, "baseUrl", "http://anthropic.test");
+  }
+
+  @Test
+  public void testCompleteStreamIsCached() {
+    server.expect(ExpectedCount.once(), requestTo("http://anthropic.test/v1/messages"))
+      .andRespond(withSuccess(DELTAS + STOP, MediaType.TEXT_EVENT_STREAM));
+
+    List<String> deltas = new ArrayList<>();
+    assertEquals("Strong laning.", claudeService.streamGameReport(analysis, deltas::add));
+    assertEquals(List.of("Strong ", "laning."), deltas);
+
+    // Served from the cache, without a second request
+    assertEquals("Strong laning.", claudeService.streamGameReport(analysis, text -> {}));
+    server.verify();
+  }
+
+  @Test
+  public void testStreamWithoutMessageStopFailsAndIsNotCached() {
+    server.expect(ExpectedCount.twice(), requestTo("http://anthropic.test/v1/messages"))
+      .andRespond(withSuccess(DELTAS, MediaType.TEXT_EVENT_STREAM));
+
+    List<String> deltas = new ArrayList<>();
+    RuntimeException e = assertThrows(RuntimeException.class, () -> claudeService.streamGameReport(analysis, deltas::add));
+    assertTrue(e.getCause().getMessage().endsWith("Anthropic stream ended before message_stop"));
+    assertEquals(List.of("Strong ", "laning."), deltas);
+    assertEquals(0L, reportCache.describe().get("writes"));
+
+    // Nothing cached, so the next request goes upstream again
+    assertThrows(RuntimeException.class, () -> claudeService.streamGameReport(analysis, text -> {}));
+    server.verify();
+  }
+}
@@ -0,0 +1,81 @@
+package com.edwardjtan.demo;
+
+import com.edwardjtan.riot.model.GameAnalysis;
+import com.edwardjtan.riot.model.MatchData;
+import com.edwardjtan.riot.model.MatchTimeline;
+import com.edwardjtan.riot.service.BenchmarkDistributions;
+import com.edwardjtan.riot.service.GameAnalysisService;
+import com.edwardjtan.riot.service.MatchService;
+import com.edwardjtan.riot.service.MatchTimelineReader;
+import com.edwardjtan.riot.service.TimelineService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameAnalysisServiceTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private MatchData match;
+  private MatchTimeline timeline;
+
+  @BeforeEach
+  public void loadFixture() throws Exception {
+    try (InputStream in = getClass().getResourceAsStream("/fixtures/match-v5/NA1_5000000001.json")) {
+      match = objectMapper.readValue(in.readAllBytes(), MatchData.class);
+    }
+    timeline = new MatchTimelineReader(objectMapper).read(objectMapper.writeValueAsBytes(timelineJson()));
+  }
+
+  // 16 one-minute frames in which participant id has 100 * id gold per minute
+  private ObjectNode timelineJson() {
+    ObjectNode root = objectMapper.createObjectNode();
+    ArrayNode puuids = root.putObject("metadata").put("matchId", "NA1_5000000001").putArray("participants");
+    match.getInfo().getParticipants().forEach(p -> puuids.add(p.getPuuid()));
+    ObjectNode info = root.putObject("info").put("frameInterval", 60000);
+    ArrayNode frames = info.putArray("frames");
+    for (int minute = 0; minute <= 15; minute++) {
+      ObjectNode frame = frames.addObject().put("timestamp", minute * 60000L);
+      frame.putArray("events");
+      ObjectNode participantFrames = frame.putObject("participantFrames");
+      for (int id = 1; id <= 10; id++) {
+        participantFrames.putObject(String.valueOf(id))
+          .put("participantId", id).put("totalGold", 100 * id * minute).put("xp", 0).put("minionsKilled", 0);
+      }
+    }
+    return root;
+  }
+
+  private GameAnalysisService service() {
+    TimelineService timelines = new TimelineService(null, 1 << 20, new SimpleMeterRegistry()) {
+      @Override
+      public MatchTimeline getTimeline(String matchId) {
+        return timeline;
+      }
+    };
+    MatchService matchService = new MatchService(null, null, null, null,
+      new BenchmarkDistributions(200, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+    return new GameAnalysisService(timelines, matchService);
+  }
+
+  @Test
+  public void testLaningStatsUseTheRadarOpponent() {
+    List<MatchData.ParticipantDto> participants = match.getInfo().getParticipants();
+    // An older match without teamPosition: getBestPosition falls back to individualPosition
+    participants.get(2).setTeamPosition("");
+    participants.get(7).setTeamPosition("");
+
+    GameAnalysis analysis = service().analyzeMatch(match, participants.get(2).getPuuid());
+
+    // Participant ids 3 (player) and 8 (opposing mid): (300 - 800) * 15
+    assertEquals(-7500, analysis.getStats().get("goldDiffAt15"));
+  }
+}
@@ -0,0 +1,73 @@
+package com.edwardjtan.demo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+public class GzipDecompressingInterceptorTest {
+
+  private RestTemplate restTemplate;
+  private MockRestServiceServer server;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    // Package-private in the config package; the upstream RestTemplates add it the same way
+    ClientHttpRequestInterceptor interceptor = (ClientHttpRequestInterceptor) BeanUtils.instantiateClass(
+      Class.forName("com.edwardjtan.riot.config.GzipDecompressingInterceptor"));
+    restTemplate = new RestTemplate();
+    restTemplate.getInterceptors().add(interceptor);
+    server = MockRestServiceServer.bindTo(restTemplate).build();
+  }
+
+  private static byte[] gzip(String text) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+  @Test
+  public void testInflatesGzipBody() throws Exception {
+    server.expect(requestTo("/match"))
+      .andExpect(header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+      .andRespond(withStatus(HttpStatus.OK)
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+        .body(gzip("{\"matchId\": \"NA1_1\"}")));
+
+    ResponseEntity<String> response = restTemplate.getForEntity("/match", String.class);
+    assertEquals("{\"matchId\": \"NA1_1\"}", response.getBody());
+    assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    server.verify();
+  }
+
+  @Test
+  public void testEmptyGzipBodyIsEmpty() {
+    server.expect(requestTo("/match"))
+      .andRespond(withStatus(HttpStatus.OK)
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+    ResponseEntity<String> response = restTemplate.getForEntity("/match", String.class);
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertNull(response.getBody());
+    server.verify();
+  }
+}
@@ -0,0 +1,98 @@
+package com.edwardjtan.demo;
+
+import com.edwardjtan.riot.model.MatchData;
+import com.edwardjtan.riot.service.MatchDataCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchDataCodecTest {
+
+  @Test
+  public void testRoundTripPreservesAllFields() {
+    MatchData original = buildMatch();
+
+    MatchData decoded = MatchDataCodec.decode(MatchDataCodec.encode(original));
+
+    assertEquals("NA1_5000000001", decoded.getMetadata().getMatchId());
+    assertEquals(1834, decoded.getInfo().getGameDuration());
+    assertEquals(1731000000000L, decoded.getInfo().getGameCreation());
+    assertEquals(10, decoded.getInfo().getParticipants().size());
+
+    for (int i = 0; i < 10; i++) {
+      MatchData.ParticipantDto expected = original.getInfo().getParticipants().get(i);
+      MatchData.ParticipantDto actual = decoded.getInfo().getParticipants().get(i);
+      assertEquals(expected.getPuuid(), actual.getPuuid());
+      assertEquals(expected.getChampionName(), actual.getChampionName());
+      assertEquals(expected.getTeamPosition(), actual.getTeamPosition());
+      assertEquals(expected.getIndividualPosition(), actual.getIndividualPosition());
+      assertEquals(expected.getLane(), actual.getLane());
+      assertEquals(expected.getSummonerName(), actual.getSummonerName());
+      assertEquals(expected.getRiotIdGameName(), actual.getRiotIdGameName());
+      assertEquals(expected.getRiotIdTagline(), actual.getRiotIdTagline());
+      assertEquals(expected.isWin(), actual.isWin());
+      assertEquals(expected.getKills(), actual.getKills());
+      assertEquals(expected.getDeaths(), actual.getDeaths());
+      assertEquals(expected.getAssists(), actual.getAssists());
+      assertEquals(expected.getGoldEarned(), actual.getGoldEarned());
+      assertEquals(expected.getTotalDamageDealtToChampions(), actual.getTotalDamageDealtToChampions());
+      assertEquals(expected.getTotalDamageTaken(), actual.getTotalDamageTaken());
+      assertEquals(expected.getWardsPlaced(), actual.getWardsPlaced());
+      assertEquals(expected.getSummoner1Casts(), actual.getSummoner1Casts());
+    }
+  }
+
+  @Test
+  public void testNullStringsSurviveRoundTrip() {
+    MatchData original = buildMatch();
+    original.getInfo().getParticipants().get(3).setRiotIdGameName(null);
+    original.getInfo().getParticipants().get(3).setLane(null);
+
+    MatchData decoded = MatchDataCodec.decode(MatchDataCodec.encode(original));
+
+    assertNull(decoded.getInfo().getParticipants().get(3).getRiotIdGameName());
+    assertNull(decoded.getInfo().getParticipants().get(3).getLane());
+  }
+
+  private MatchData buildMatch() {
+    String[] positions = {"TOP", "JUNGLE", "MIDDLE", "BOTTOM", "UTILITY"};
+    List<MatchData.ParticipantDto> participants = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      MatchData.ParticipantDto p = new MatchData.ParticipantDto();
+      p.setPuuid("puuid-" + i);
+      p.setChampionName("Champion" + (i % 7));
+      p.setTeamPosition(positions[i % 5]);
+      p.setIndividualPosition(positions[i % 5]);
+      p.setLane(i % 5 == 4 ? "NONE" : positions[i % 5]);
+      p.setSummonerName("");
+      p.setRiotIdGameName("Player Ünïcode " + i);
+      p.setRiotIdTagline("NA" + i);
+      p.setWin(i < 5);
+      p.setKills(i * 2);
+      p.setDeaths(10 - i);
+      p.setAssists(i + 3);
+      p.setGoldEarned(9000 + i * 731);
+      p.setTotalDamageDealtToChampions(12000 + i * 2213);
+      p.setTotalDamageTaken(15000 + i * 1777);
+      p.setWardsPlaced(8 + i);
+      p.setSummoner1Casts(-1);
+      participants.add(p);
+    }
+
+    MatchData.Info info = new MatchData.Info();
+    info.setGameDuration(1834);
+    info.setGameCreation(1731000000000L);
+    info.setParticipants(participants);
+
+    MatchData.Metadata metadata = new MatchData.Metadata();
+    metadata.setMatchId("NA1_5000000001");
+
+    MatchData match = new MatchData();
+    match.setMetadata(metadata);
+    match.setInfo(info);
+    return match;
+  }
+}
@@ -0,0 +1,150 @@
+package com.edwardjtan.demo;
+
+import com.edwardjtan.riot.service.MatchStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchStoreTest {
+
+  @TempDir
+  Path dir;
+
+  private MatchStore open(long segmentMaxBytes) {
+    MatchStore store = new MatchStore();
+    ReflectionTestUtils.setField(store, "enabled", true);
+    ReflectionTestUtils.setField(store, "directory", dir.toString());
+    ReflectionTestUtils.setField(store, "segmentMaxBytes", segmentMaxBytes);
+    ReflectionTestUtils.invokeMethod(store, "open");
+    return store;
+  }
+
+  private static void close(MatchStore store) {
+    ReflectionTestUtils.invokeMethod(store, "close");
+  }
+
+  private static byte[] payload(String matchId) {
+    return ("{\"metadata\": {\"matchId\": \"" + matchId + "\"}, \"info\": {\"gameDuration\": 1800}}")
+      .getBytes(StandardCharsets.UTF_8);
+  }
+
+  private List<Path> segmentFiles() throws Exception {
+    try (Stream<Path> files = Files.list(dir)) {
+      return files.sorted().toList();
+    }
+  }
+
+  @Test
+  public void testTornTailOfLastSegmentIsTruncated() throws Exception {
+    MatchStore store = open(1 << 20);
+    store.put("NA1_1", payload("NA1_1"));
+    store.put("NA1_2", payload("NA1_2"));
+    long intact = Files.size(segmentFiles().get(0));
+    store.put("NA1_3", payload("NA1_3"));
+    // Reads from the active segment see records appended after the first read
+    assertArrayEquals(payload("NA1_3"), store.get("NA1_3"));
+    close(store);
+
+    // A crash in the middle of writing the third record
+    Path segment = segmentFiles().get(0);
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      file.setLength(intact + 10);
+    }
+
+    store = open(1 << 20);
+    assertArrayEquals(payload("NA1_1"), store.get("NA1_1"));
+    assertArrayEquals(payload("NA1_2"), store.get("NA1_2"));
+    assertNull(store.get("NA1_3"));
+    assertEquals(intact, Files.size(segment));
+
+    // Appends continue after the truncation point and survive another reopen
+    store.put("NA1_3", payload("NA1_3"));
+    close(store);
+    store = open(1 << 20);
+    assertArrayEquals(payload("NA1_3"), store.get("NA1_3"));
+    close(store);
+  }
+
+  @Test
+  public void testCorruptRecordInEarlierSegmentIsSkipped() throws Exception {
+    MatchStore store = open(1 << 20);
+    store.put("NA1_1", payload("NA1_1"));
+    store.put("NA1_2", payload("NA1_2"));
+    close(store);
+    // Roll: everything written now goes to a second segment
+    store = open(1);
+    store.put("NA1_3", payload("NA1_3"));
+    close(store);
+    List<Path> files = segmentFiles();
+    assertEquals(2, files.size());
+
+    // Flip a bit in the body of the first record of the older segment
+    Path older = files.get(0);
+    long size = Files.size(older);
+    try (RandomAccessFile file = new RandomAccessFile(older.toFile(), "rw")) {
+      file.seek(12);
+      int b = file.read();
+      file.seek(12);
+      file.write(b ^ 1);
+    }
+
+    store = open(1 << 20);
+    assertNull(store.get("NA1_1"));
+    assertArrayEquals(payload("NA1_2"), store.get("NA1_2"));
+    assertArrayEquals(payload("NA1_3"), store.get("NA1_3"));
+    assertEquals(size, Files.size(older));
+    close(store);
+  }
+
+  @Test
+  public void testNewSegmentNumberedAfterHighestExisting() throws Exception {
+    MatchStore store = open(1);
+    store.put("NA1_1", payload("NA1_1"));
+    store.put("NA1_2", payload("NA1_2"));
+    close(store);
+    List<Path> files = segmentFiles();
+    assertEquals(List.of("segment-00000.log", "segment-00001.log"),
+      files.stream().map(p -> p.getFileName().toString()).toList());
+
+    // Leave a gap in the numbering: segments 00000 and 00002
+    Path renamed = dir.resolve("segment-00002.log");
+    Files.move(files.get(1), renamed);
+    long renamedSize = Files.size(renamed);
+
+    store = open(1);
+    store.put("NA1_3", payload("NA1_3"));
+    assertEquals(renamedSize, Files.size(renamed));
+    assertTrue(Files.exists(dir.resolve("segment-00003.log")));
+    assertArrayEquals(payload("NA1_2"), store.get("NA1_2"));
+    assertArrayEquals(payload("NA1_3"), store.get("NA1_3"));
+    close(store);
+  }
+
+  @Test
+  public void testPutReportsOnlyNewMatchesAndForEachVisitsGivenIds() throws Exception {
+    MatchStore store = open(1 << 20);
+    assertTrue(store.put("NA1_1", payload("NA1_1")));
+    assertFalse(store.put("NA1_1", payload("NA1_1")));
+    List<String> stored = store.matchIds();
+    assertTrue(store.put("NA1_2", payload("NA1_2")));
+
+    // Matches stored after the IDs were taken are not visited
+    List<String> visited = new ArrayList<>();
+    store.forEach(stored, (matchId, payload) -> {
+      assertArrayEquals(payload(matchId), payload);
+      visited.add(matchId);
+    });
+    assertEquals(List.of("NA1_1"), visited);
+    close(store);
+  }
+}
@@ -0,0 +1,94 @@
+package com.edwardjtan.demo;
+
+import com.edwardjtan.riot.model.MatchTimeline;
+import com.edwardjtan.riot.model.TimelineFrames;
+import com.edwardjtan.riot.service.MatchTimelineReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchTimelineReaderTest {
+
+  private static final String TIMELINE = """
+    {"metadata": {"dataVersion": "2", "matchId": "NA1_1", "participants": ["p1", "p2"]},
+     "info": {"frameInterval": 60000, "frames": [
+       {"events": [{"realTimestamp": 1, "timestamp": 0, "type": "PAUSE_END"}],
+        "participantFrames": {
+          "1": {"championStats": {"armor": 30}, "participantId": 1, "position": {"x": 1, "y": 2}, "totalGold": 500, "xp": 0},
+          "2": {"participantId": 2, "totalGold": 500, "xp": 0, "damageStats": {"totalDamageDone": 0}}},
+        "timestamp": 0},
+       {"events": [
+          {"itemId": 1055, "participantId": 1, "timestamp": 1200, "type": "ITEM_PURCHASED"},
+          {"creatorId": 2, "timestamp": 30000, "type": "WARD_PLACED", "wardType": "YELLOW_TRINKET"},
+          {"assistingParticipantIds": [3, 4], "killerId": 1, "timestamp": 45000, "type": "CHAMPION_KILL",
+           "victimDamageDealt": [{"name": "Ahri", "participantId": 2, "magicDamage": 100}], "victimId": 2},
+          {"killType": "KILL_FIRST_BLOOD", "killerId": 1, "timestamp": 45000, "type": "CHAMPION_SPECIAL_KILL"},
+          {"killerId": 1, "killerTeamId": 100, "monsterSubType": "FIRE_DRAGON", "monsterType": "DRAGON",
+           "timestamp": 50000, "type": "ELITE_MONSTER_KILL"},
+          {"type": "BUILDING_KILL", "buildingType": "TOWER_BUILDING", "killerId": 0, "laneType": "MID_LANE",
+           "teamId": 200, "timestamp": 55000, "towerType": "OUTER_TURRET"}],
+        "participantFrames": {
+          "1": {"participantId": 1, "totalGold": 1200, "xp": 480, "minionsKilled": 7, "jungleMinionsKilled": 1,
+                "position": {"x": 5000, "y": 9000}},
+          "2": {"participantId": 2, "totalGold": 800, "xp": 300, "minionsKilled": 9}},
+        "timestamp": 60012}]}}
+    """;
+
+  @Test
+  public void testReadsEventsAndFrames() throws Exception {
+    MatchTimeline timeline = new MatchTimelineReader(new ObjectMapper())
+      .read(TIMELINE.getBytes(StandardCharsets.UTF_8));
+
+    assertEquals("NA1_1", timeline.getMatchId());
+    assertEquals(2, timeline.getParticipantId("p2"));
+    assertEquals(0, timeline.getParticipantId("unknown"));
+
+    // The pause and the ward are dropped
+    assertEquals(5, timeline.getEventCount());
+    assertEquals(MatchTimeline.ITEM_PURCHASED, timeline.getType(0));
+    assertEquals(1055, timeline.getDetail(0));
+
+    assertEquals(MatchTimeline.CHAMPION_KILL, timeline.getType(1));
+    assertEquals(45000, timeline.getTimestamp(1));
+    assertEquals(1, timeline.getActor(1));
+    assertEquals(2, timeline.getTarget(1));
+    assertTrue(timeline.isAssist(1, 3));
+    assertFalse(timeline.isAssist(1, 2));
+
+    assertEquals(MatchTimeline.FIRST_BLOOD, timeline.getType(2));
+    assertEquals("Infernal Drake", MatchTimeline.MONSTERS[timeline.getDetail(3)]);
+    assertEquals(100, timeline.getTarget(3));
+    assertEquals(MatchTimeline.BUILDING_KILL, timeline.getType(4));
+    assertEquals("mid tower", MatchTimeline.buildingName(timeline.getDetail(4)));
+    assertEquals(200, timeline.getTarget(4));
+
+    TimelineFrames frames = timeline.getFrames();
+    assertEquals(2, frames.getFrameCount());
+    assertEquals(1200, frames.get(TimelineFrames.Stat.GOLD, 1, 1));
+    assertEquals(300, frames.get(TimelineFrames.Stat.XP, 2, 1));
+    assertEquals(8, frames.get(TimelineFrames.Stat.CS, 1, 1));
+    assertEquals(5000, frames.getX(1, 1));
+    assertEquals(9000, frames.getY(1, 1));
+    assertEquals(1, frames.getX(1, 0));
+  }
+
+  @Test
+  public void testFrameQueries() throws Exception {
+    TimelineFrames frames = new MatchTimelineReader(new ObjectMapper())
+      .read(TIMELINE.getBytes(StandardCharsets.UTF_8)).getFrames();
+
+    assertEquals(400, frames.diff(TimelineFrames.Stat.GOLD, 1, 2, 1));
+    assertEquals(-400, frames.diff(TimelineFrames.Stat.GOLD, 2, 1, 1));
+    assertEquals(-1, frames.diff(TimelineFrames.Stat.CS, 1, 2, 1));
+    assertEquals(400, frames.maxLead(TimelineFrames.Stat.GOLD, 1, 2));
+    assertEquals(1, frames.minuteLeadReached(TimelineFrames.Stat.GOLD, 1, 2, 100));
+    assertEquals(-1, frames.minuteLeadReached(TimelineFrames.Stat.GOLD, 2, 1, 100));
+    // Past the end of the game reads the last frame
+    assertTrue(frames.covers(1));
+    assertFalse(frames.covers(2));
+    assertEquals(1200, frames.get(TimelineFrames.Stat.GOLD, 1, 30));
+  }
+}
@@ -0,0 +1,147 @@
+package com.edwardjtan.demo;
+
+import com.edwardjtan.riot.model.MatchData;
+import com.edwardjtan.riot.model.ParticipantSlice;
+import com.edwardjtan.riot.service.BenchmarkDistributions;
+import com.edwardjtan.riot.service.MatchService;
+import com.edwardjtan.riot.service.MatchV5Reader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchV5ReaderTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final MatchV5Reader reader = new MatchV5Reader(objectMapper);
+  private byte[] payload;
+  private MatchData match;
+
+  @BeforeEach
+  public void loadFixture() throws Exception {
+    try (InputStream in = getClass().getResourceAsStream("/fixtures/match-v5/NA1_5000000001.json")) {
+      payload = in.readAllBytes();
+    }
+    match = objectMapper.readValue(payload, MatchData.class);
+  }
+
+  @Test
+  public void testReadsSameParticipantsAsFullBinding() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      MatchData.ParticipantDto expected = match.getInfo().getParticipants().get(i);
+      MatchData.ParticipantDto expectedOpponent = match.getInfo().getParticipants().get((i + 5) % 10);
+
+      ParticipantSlice slice = reader.read(payload, expected.getPuuid(), true);
+
+      assertEquals("NA1_5000000001", slice.getMatchId());
+      assertEquals(match.getInfo().getGameDuration(), slice.getGameDuration());
+      assertEquals(match.getInfo().getGameCreation(), slice.getGameCreation());
+      assertEquals(expected.getPuuid(), slice.getPlayer().getPuuid());
+      assertEquals(expected.getChampionName(), slice.getPlayer().getChampionName());
+      assertEquals(expected.getKills(), slice.getPlayer().getKills());
+      assertEquals(expected.getTotalDamageDealtToChampions(), slice.getPlayer().getTotalDamageDealtToChampions());
+      assertEquals(expectedOpponent.getPuuid(), slice.getOpponent().getPuuid());
+    }
+  }
+
+  @Test
+  public void testOpponentIsOptional() throws Exception {
+    String puuid = match.getInfo().getParticipants().get(2).getPuuid();
+
+    ParticipantSlice slice = reader.read(payload, puuid, false);
+
+    assertEquals(puuid, slice.getPlayer().getPuuid());
+    assertNull(slice.getOpponent());
+  }
+
+  @Test
+  public void testFallsBackToFirstEnemyWithoutLaneMatch() throws Exception {
+    String json = new String(payload, StandardCharsets.UTF_8)
+      .replace("\"teamPosition\":\"MIDDLE\"", "\"teamPosition\":\"\"")
+      .replace("\"individualPosition\":\"MIDDLE\"", "\"individualPosition\":\"Invalid\"");
+    MatchData.ParticipantDto player = match.getInfo().getParticipants().get(2);
+
+    // Both mids now fall through to lane = MIDDLE, so they still face each other
+    ParticipantSlice slice = reader.read(json.getBytes(StandardCharsets.UTF_8), player.getPuuid(), true);
+    assertEquals(match.getInfo().getParticipants().get(7).getPuuid(), slice.getOpponent().getPuuid());
+
+    // With no usable position at all both resolve to UNKNOWN, which pairs up like getBestPosition does
+    json = json.replace("\"lane\":\"MIDDLE\"", "\"lane\":\"NONE\"");
+    slice = reader.read(json.getBytes(StandardCharsets.UTF_8), player.getPuuid(), true);
+    assertEquals(match.getInfo().getParticipants().get(7).getPuuid(), slice.getOpponent().getPuuid());
+  }
+
+  // The payload with participant i's teamPosition, individualPosition and lane replaced
+  private byte[] withPositions(int index, String teamPosition, String individualPosition, String lane,
+                               byte[] json) throws Exception {
+    ObjectNode root = (ObjectNode) objectMapper.readTree(json);
+    ObjectNode participant = (ObjectNode) root.path("info").path("participants").get(index);
+    participant.put("teamPosition", teamPosition);
+    participant.put("individualPosition", individualPosition);
+    participant.put("lane", lane);
+    return objectMapper.writeValueAsBytes(root);
+  }
+
+  @Test
+  public void testLegacyLaneValuesPairUpOnlyWithTheSameValue() throws Exception {
+    MatchData.ParticipantDto player = match.getInfo().getParticipants().get(2);
+    byte[] json = withPositions(2, "", "", "MID_LANE", payload);
+
+    // Like getBestPosition(p).equals(...): the same legacy string pairs up
+    ParticipantSlice slice = reader.read(withPositions(7, "", "", "MID_LANE", json), player.getPuuid(), true);
+    assertEquals(match.getInfo().getParticipants().get(7).getPuuid(), slice.getOpponent().getPuuid());
+
+    // A different one does not, so the first enemy is used
+    slice = reader.read(withPositions(7, "", "", "BOT_LANE", json), player.getPuuid(), true);
+    assertEquals(match.getInfo().getParticipants().get(5).getPuuid(), slice.getOpponent().getPuuid());
+
+    // "Invalid" in lane is a position of its own
+    json = withPositions(2, "", "", "Invalid", payload);
+    slice = reader.read(withPositions(7, "", "Invalid", "Invalid", json), player.getPuuid(), true);
+    assertEquals(match.getInfo().getParticipants().get(7).getPuuid(), slice.getOpponent().getPuuid());
+  }
+
+  @Test
+  public void testReaderAndFullMatchPickTheSameOpponent() throws Exception {
+    // selectParticipants only needs the participants, not the Riot client, cache or store
+    MatchService matchService = new MatchService(null, null, null, null,
+      new BenchmarkDistributions(200, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+    byte[][] variants = {
+      payload,
+      // Invalid positions, resolved from lane: one "Invalid", one MIDDLE
+      withPositions(7, "Invalid", "Invalid", "MIDDLE", withPositions(2, "Invalid", "Invalid", "Invalid", payload)),
+      withPositions(7, "", "", "Invalid", withPositions(2, "", "", "Invalid", payload)),
+      // Legacy lanes, matching and not
+      withPositions(7, "", "", "MID_LANE", withPositions(2, "", "", "MID_LANE", payload)),
+      withPositions(8, "", "", "BOT_LANE", withPositions(3, "", "", "BOT", payload)),
+      withPositions(7, "", "", "MIDDLE", withPositions(2, "", "", "MID_LANE", payload)),
+      // No usable position on either side, or on one side
+      withPositions(7, "", "NONE", "NONE", withPositions(2, "NONE", "", "", payload)),
+      withPositions(2, "", "", "", payload),
+    };
+    for (int v = 0; v < variants.length; v++) {
+      byte[] json = variants[v];
+      MatchData full = objectMapper.readValue(json, MatchData.class);
+      for (MatchData.ParticipantDto player : full.getInfo().getParticipants()) {
+        ParticipantSlice streamed = reader.read(json, player.getPuuid(), true);
+        ParticipantSlice selected = ReflectionTestUtils.invokeMethod(matchService, "selectParticipants",
+          full, player.getPuuid(), true);
+        assertEquals(selected.getOpponent().getPuuid(), streamed.getOpponent().getPuuid(),
+          "variant " + v + ", player " + player.getPuuid());
+      }
+    }
+  }
+
+  @Test
+  public void testUnknownPlayerFails() {
+    assertThrows(RuntimeException.class, () -> reader.read(payload, "not-in-this-match", true));
+  }
+}
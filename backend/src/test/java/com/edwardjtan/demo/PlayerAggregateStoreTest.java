@@ -0,0 +1,40 @@
+package com.edwardjtan.demo;
+
+import com.edwardjtan.riot.model.MatchData;
+import com.edwardjtan.riot.model.PlayerAggregates;
+import com.edwardjtan.riot.service.PlayerAggregateStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerAggregateStoreTest {
+
+  private static MatchData.ParticipantDto participant(String teamPosition, String individualPosition, String lane) {
+    MatchData.ParticipantDto p = new MatchData.ParticipantDto();
+    p.setPuuid("puuid-1");
+    p.setChampionName("Ahri");
+    p.setTeamPosition(teamPosition);
+    p.setIndividualPosition(individualPosition);
+    p.setLane(lane);
+    return p;
+  }
+
+  @Test
+  public void testRoleFollowsBestPosition() {
+    PlayerAggregateStore store = new PlayerAggregateStore(1 << 20, Duration.ofDays(1));
+    store.record("NA1_1", 1800, participant("MIDDLE", "MIDDLE", "MIDDLE"));
+    // An older match without teamPosition falls back to individualPosition, then lane
+    store.record("NA1_2", 1800, participant("", "MIDDLE", "MIDDLE"));
+    store.record("NA1_3", 1800, participant("", "Invalid", "MID_LANE"));
+    store.record("NA1_4", 1800, participant(null, null, null));
+
+    Map<String, PlayerAggregates.StatLine> byRole = store.get("puuid-1").getByRole();
+    assertEquals(2, byRole.get("MIDDLE").getGames());
+    assertEquals(1, byRole.get("MID_LANE").getGames());
+    assertEquals(1, byRole.get("UNKNOWN").getGames());
+    assertFalse(byRole.containsKey("NONE"));
+  }
+}
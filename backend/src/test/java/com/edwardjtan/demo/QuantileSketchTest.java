@@ -0,0 +1,74 @@
+package com.edwardjtan.demo;
+
+import com.edwardjtan.riot.service.QuantileSketch;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuantileSketchTest {
+
+  @Test
+  public void testQuantilesWithinRelativeAccuracy() {
+    Random random = new Random(42);
+    double[] values = new double[5000];
+    QuantileSketch sketch = new QuantileSketch(0.01);
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 2 + random.nextDouble() * 10;
+      sketch.add(values[i]);
+    }
+    Arrays.sort(values);
+
+    for (double q : new double[] {0.1, 0.5, 0.9, 0.99}) {
+      double exact = values[(int) Math.floor(q * (values.length - 1))];
+      assertEquals(exact, sketch.quantile(q), exact * 0.01 + 1e-9, "q=" + q);
+    }
+  }
+
+  @Test
+  public void testMergeMatchesSingleSketch() {
+    QuantileSketch all = new QuantileSketch(0.01);
+    QuantileSketch low = new QuantileSketch(0.01);
+    QuantileSketch high = new QuantileSketch(0.01);
+    for (int i = 0; i <= 1000; i++) {
+      all.add(i / 10.0);
+      (i < 500 ? low : high).add(i / 10.0);
+    }
+
+    low.merge(high);
+
+    assertEquals(all.count(), low.count());
+    for (double q : new double[] {0.0, 0.25, 0.5, 0.75, 1.0}) {
+      assertEquals(all.quantile(q), low.quantile(q), 0.0, "q=" + q);
+    }
+  }
+
+  @Test
+  public void testZerosAndEmpty() {
+    QuantileSketch sketch = new QuantileSketch(0.01);
+    assertTrue(Double.isNaN(sketch.quantile(0.5)));
+
+    sketch.add(0);
+    sketch.add(0);
+    sketch.add(5);
+    assertEquals(0.0, sketch.quantile(0.5));
+    assertEquals(5.0, sketch.quantile(1.0), 0.05);
+  }
+
+  @Test
+  public void testCdfRank() {
+    QuantileSketch sketch = new QuantileSketch(0.01);
+    for (int i = 1; i <= 1000; i++) {
+      sketch.add(i);
+    }
+    QuantileSketch.Cdf cdf = sketch.cdf();
+
+    assertEquals(0.5, cdf.rank(500), 0.01);
+    assertEquals(0.9, cdf.rank(900), 0.01);
+    assertEquals(0.0, cdf.rank(0.5));
+    assertEquals(1.0, cdf.rank(5000));
+    assertTrue(Double.isNaN(new QuantileSketch(0.01).cdf().rank(1)));
+  }
+}
@@ -0,0 +1,70 @@
+package com.edwardjtan.demo;
+
+import com.edwardjtan.riot.service.ReportCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportCacheTest {
+
+  @TempDir
+  Path dir;
+
+  private ReportCache open(long maxDiskBytes) {
+    ReportCache cache = new ReportCache(1 << 20, Duration.ofDays(7));
+    ReflectionTestUtils.setField(cache, "persistEnabled", true);
+    ReflectionTestUtils.setField(cache, "directory", dir.toString());
+    ReflectionTestUtils.setField(cache, "maxDiskBytes", maxDiskBytes);
+    ReflectionTestUtils.invokeMethod(cache, "open");
+    return cache;
+  }
+
+  private Path report(String key, String text, Duration age) throws Exception {
+    Path file = dir.resolve(key + ".md");
+    Files.writeString(file, text);
+    Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+    return file;
+  }
+
+  @Test
+  public void testOpenRemovesStaleTempAndExpiredReports() throws Exception {
+    Path temp = Files.writeString(dir.resolve("abc123.tmp"), "half a rep");
+    Path expired = report("old", "expired", Duration.ofDays(8));
+    Path fresh = report("new", "fresh", Duration.ofDays(1));
+
+    ReportCache cache = open(1 << 20);
+    assertFalse(Files.exists(temp));
+    assertFalse(Files.exists(expired));
+    assertEquals("fresh", cache.get("new"));
+    assertTrue(Files.exists(fresh));
+  }
+
+  @Test
+  public void testDiskBoundedByDeletingOldestReports() throws Exception {
+    String text = "x".repeat(100);
+    Path oldest = report("a", text, Duration.ofHours(3));
+    Path older = report("b", text, Duration.ofHours(2));
+    Path newer = report("c", text, Duration.ofHours(1));
+
+    // Room for two reports: the oldest goes on open
+    ReportCache cache = open(250);
+    assertFalse(Files.exists(oldest));
+    assertTrue(Files.exists(older));
+    assertTrue(Files.exists(newer));
+
+    // A write that takes the directory over budget sweeps it again
+    cache.put("d", text);
+    assertFalse(Files.exists(older));
+    assertTrue(Files.exists(newer));
+    assertTrue(Files.exists(dir.resolve("d.md")));
+    assertEquals(200L, cache.describe().get("diskBytes"));
+  }
+}
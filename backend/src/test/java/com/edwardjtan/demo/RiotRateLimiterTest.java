@@ -0,0 +1,43 @@
+package com.edwardjtan.demo;
+
+import com.edwardjtan.riot.service.RiotRateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RiotRateLimiterTest {
+
+  private static long acquireMillis(RiotRateLimiter limiter, String method) {
+    long start = System.nanoTime();
+    limiter.acquire(method);
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  @Test
+  public void testMethodLimitPausesOnlyThatMethod() {
+    RiotRateLimiter limiter = new RiotRateLimiter("100:1");
+    limiter.onThrottled("match-v5.matches", "method", 400);
+
+    assertTrue(acquireMillis(limiter, "account-v1.by-riot-id") < 200);
+    assertTrue(acquireMillis(limiter, "match-v5.matches") >= 300);
+  }
+
+  @Test
+  public void testServiceLimitWithoutTypePausesOnlyThatMethod() {
+    RiotRateLimiter limiter = new RiotRateLimiter("100:1");
+    limiter.onThrottled("match-v5.matches", null, 400);
+
+    assertTrue(acquireMillis(limiter, "account-v1.by-riot-id") < 200);
+    assertTrue(acquireMillis(limiter, "match-v5.matches") >= 300);
+  }
+
+  @Test
+  public void testApplicationLimitPausesEveryMethod() {
+    RiotRateLimiter limiter = new RiotRateLimiter("100:1");
+    limiter.onThrottled("match-v5.matches", "application", 400);
+
+    assertTrue(acquireMillis(limiter, "account-v1.by-riot-id") >= 300);
+  }
+}
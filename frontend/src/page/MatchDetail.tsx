@@ -99,26 +99,32 @@ export function MatchDetail({ matchId, puuid, onBack }: MatchDetailProps) {
     fetchRadarStats();
   }, [matchId, puuid]);
 
-  const handleGenerateReport = async () => {
-    try {
-      setAiReportLoading(true);
-      setAiReportError('');
-      setAiReport('');
-
-      const url = `http://localhost:8080/api/game-tracker/report-by-match?matchId=${matchId}&puuid=${puuid}`;
-      const response = await fetch(url);
-
-      if (!response.ok) {
-        throw new Error('Failed to generate report');
-      }
+  const handleGenerateReport = () => {
+    setAiReportLoading(true);
+    setAiReportError('');
+    setAiReport('');
+
+    // The report is streamed over SSE and rendered as it is written
+    const url = `http://localhost:8080/api/game-tracker/report-by-match/stream?matchId=${matchId}&puuid=${puuid}`;
+    const source = new EventSource(url);
+
+    source.addEventListener('delta', (event) => {
+      const { text } = JSON.parse((event as MessageEvent).data);
+      setAiReport((report) => report + text);
+    });
+
+    source.addEventListener('done', () => {
+      source.close();
+      setAiReportLoading(false);
+    });
 
-      const report = await response.text();
-      setAiReport(report);
-    } catch (error) {
-      setAiReportError(`Error: ${error}`);
-    } finally {
+    source.addEventListener('error', (event) => {
+      const data = (event as MessageEvent).data;
+      const message = data ? JSON.parse(data).message : 'Failed to generate report';
+      source.close();
+      setAiReportError(`Error: ${message}`);
       setAiReportLoading(false);
-    }
+    });
   };
 
   const handleCompareReports = async () => {